@@ -0,0 +1,65 @@
+package org.example;
+
+import org.example.config.ApplicationContext;
+import org.example.service.TicketImportService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line bulk import of tickets from a CSV or JSON Lines file (.gz ok).
+ *
+ * Usage: ImportTickets <file> [--batch-size=5000] [--threads=N] [--restart]
+ *
+ * An interrupted run resumes from its checkpoint when started again with the
+ * same file; --restart ignores the checkpoint.
+ */
+public class ImportTickets {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: ImportTickets <file.csv|file.jsonl[.gz]> [--batch-size=N] [--threads=N] [--restart]");
+            System.exit(2);
+        }
+
+        Path input = Path.of(args[0]);
+        int batchSize = TicketImportService.DEFAULT_BATCH_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean restart = false;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--batch-size=")) {
+                batchSize = Integer.parseInt(arg.substring("--batch-size=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.equals("--restart")) {
+                restart = true;
+            } else {
+                System.err.println("❌ Unknown option: " + arg);
+                System.exit(2);
+            }
+        }
+
+        if (!Files.isReadable(input)) {
+            System.err.println("❌ Cannot read " + input);
+            System.exit(1);
+        }
+
+        ApplicationContext context = ApplicationContext.getInstance();
+        if (!context.start()) {
+            System.err.println("❌ Neo4j connection failed. Please start Neo4j database.");
+            System.exit(1);
+        }
+
+        try {
+            System.out.println("🚀 Importing tickets from " + input);
+            context.getTicketImportService().importFile(input, batchSize, threads, restart);
+        } catch (Exception e) {
+            System.err.println("❌ Import stopped: " + e.getMessage());
+            System.err.println("   Run again with the same file to resume from the last committed batch.");
+            System.exit(1);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package org.example;
 
-import org.example.repository.Neo4jConnection;
+import org.example.config.ApplicationContext;
 import org.example.service.*;
 import org.example.model.*;
 import org.example.model.enums.*;
@@ -32,13 +32,14 @@ public class Main {
 
         System.out.println("\n✅ Demo completed successfully!");
         System.out.println("🎉 Your AI Knowledge Graph Search Engine is working!\n");
+
+        ApplicationContext.getInstance().close();
     }
 
     private static boolean testNeo4jConnection() {
         System.out.println("📡 Testing Neo4j Connection...");
         try {
-            Neo4jConnection connection = Neo4jConnection.getInstance();
-            if (connection.getDriver() != null) {
+            if (ApplicationContext.getInstance().start()) {
                 System.out.println("✅ Neo4j connection successful!");
                 return true;
             }
@@ -82,7 +83,7 @@ public class Main {
     }
 
     private static void demoUserService() {
-        UserService userService = new UserService();
+        UserService userService = ApplicationContext.getInstance().getUserService();
 
         System.out.println("Creating test user...");
         User user = userService.createUser(
@@ -100,7 +101,7 @@ public class Main {
     }
 
     private static void demoTicketService() {
-        TicketService ticketService = new TicketService();
+        TicketService ticketService = ApplicationContext.getInstance().getTicketService();
 
         System.out.println("Creating test ticket...");
         Ticket ticket = ticketService.createTicket(
@@ -122,7 +123,7 @@ public class Main {
     }
 
     private static void demoAIService() {
-        AIService aiService = new AIService();
+        AIService aiService = ApplicationContext.getInstance().getAiService();
 
         System.out.println("Testing AI classification...");
 
@@ -144,7 +145,7 @@ public class Main {
     }
 
     private static void demoAnalyticsService() {
-        AnalyticsService analyticsService = new AnalyticsService();
+        AnalyticsService analyticsService = ApplicationContext.getInstance().getAnalyticsService();
 
         System.out.println("Generating dashboard metrics...");
 
@@ -161,7 +162,7 @@ public class Main {
     }
 
     private static void demoSearchService() {
-        SearchService searchService = new SearchService();
+        SearchService searchService = ApplicationContext.getInstance().getSearchService();
 
         System.out.println("Testing search functionality...");
 
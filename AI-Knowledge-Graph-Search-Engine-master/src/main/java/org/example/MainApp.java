@@ -6,7 +6,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
-import org.example.repository.Neo4jConnection;
+import org.example.config.ApplicationContext;
 
 /**
  * JavaFX Main Application Entry Point
@@ -17,8 +17,8 @@ public class MainApp extends Application {
     public void start(Stage primaryStage) throws Exception {
         System.out.println("🚀 AI Knowledge Graph Search Engine - GUI Starting...");
 
-        // Test Neo4j Connection
-        if (!Neo4jConnection.getInstance().testConnection()) {
+        // Connect to Neo4j and apply the schema
+        if (!ApplicationContext.getInstance().start()) {
             System.err.println("❌ Neo4j connection failed. Please start Neo4j database.");
 
             Alert alert = new Alert(Alert.AlertType.ERROR);
@@ -41,6 +41,11 @@ public class MainApp extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        ApplicationContext.getInstance().close();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
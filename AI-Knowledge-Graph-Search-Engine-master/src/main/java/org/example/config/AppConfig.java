@@ -4,7 +4,6 @@ import java.io.*;
 import java.util.Properties;
 
 public class AppConfig {
-    private static AppConfig instance;
     private Properties properties;
     private static final String CONFIG_FILE = "application.properties";
 
@@ -13,11 +12,13 @@ public class AppConfig {
         loadConfig();
     }
 
+    // Holder idiom: created on first use, class initialization makes it thread-safe
+    private static class Holder {
+        private static final AppConfig INSTANCE = new AppConfig();
+    }
+
     public static AppConfig getInstance() {
-        if (instance == null) {
-            instance = new AppConfig();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     private void loadConfig() {
@@ -0,0 +1,329 @@
+package org.example.config;
+
+import org.example.repository.AsyncTicketRepository;
+import org.example.repository.AuditRepository;
+import org.example.repository.CategoryRepository;
+import org.example.repository.CommentRepository;
+import org.example.repository.KBRepository;
+import org.example.repository.MetricRepository;
+import org.example.repository.Neo4jConnection;
+import org.example.repository.SLARepository;
+import org.example.repository.SchemaInitializer;
+import org.example.repository.TeamRepository;
+import org.example.repository.TicketColumnStore;
+import org.example.repository.TicketCounters;
+import org.example.repository.TicketRepository;
+import org.example.repository.UserRepository;
+import org.example.repository.WorkflowRepository;
+import org.example.search.DuplicateTicketIndex;
+import org.example.search.TermSuggester;
+import org.example.search.TicketSearchIndex;
+import org.example.search.TicketSimilarityIndex;
+import org.example.service.AIService;
+import org.example.service.AnalyticsService;
+import org.example.service.NotificationService;
+import org.example.service.ReportService;
+import org.example.service.SLAService;
+import org.example.service.SearchService;
+import org.example.service.TicketImportService;
+import org.example.service.TicketService;
+import org.example.service.UserService;
+import org.example.service.WorkflowEngine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Owns the single Neo4j connection and one shared instance of every repository,
+ * index and service. Everything is wired in the constructor into final fields,
+ * so the instances are safely published to all threads. Call {@link #start()}
+ * once at startup; {@link #close()} runs on JVM shutdown if not called earlier.
+ */
+public final class ApplicationContext implements AutoCloseable {
+
+    private static class Holder {
+        private static final ApplicationContext INSTANCE = new ApplicationContext();
+    }
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Thread shutdownHook = new Thread(this::close, "application-context-shutdown");
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "application-context-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Bounded queue; when it is full further searches are rejected and reported as failed
+    private static final int SEARCH_QUEUE_CAPACITY = 64;
+
+    private final AppConfig appConfig;
+    private final Neo4jConnection connection;
+    private final ExecutorService searchExecutor;
+
+    private final TicketCounters ticketCounters;
+    private final TicketRepository ticketRepository;
+    private final AsyncTicketRepository asyncTicketRepository;
+    private final UserRepository userRepository;
+    private final KBRepository kbRepository;
+    private final CategoryRepository categoryRepository;
+    private final CommentRepository commentRepository;
+    private final AuditRepository auditRepository;
+    private final MetricRepository metricRepository;
+    private final SLARepository slaRepository;
+    private final TeamRepository teamRepository;
+    private final WorkflowRepository workflowRepository;
+
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketSimilarityIndex ticketSimilarityIndex;
+    private final DuplicateTicketIndex duplicateTicketIndex;
+    private final TermSuggester termSuggester;
+    private final TicketColumnStore ticketColumnStore;
+
+    private final AIService aiService;
+    private final TicketService ticketService;
+    private final TicketImportService ticketImportService;
+    private final SearchService searchService;
+    private final AnalyticsService analyticsService;
+    private final ReportService reportService;
+    private final SLAService slaService;
+    private final UserService userService;
+    private final WorkflowEngine workflowEngine;
+    private final NotificationService notificationService;
+
+    private ApplicationContext() {
+        this.appConfig = AppConfig.getInstance();
+        this.connection = Neo4jConnection.getInstance();
+
+        int searchThreads = appConfig.getIntProperty("search.threads", 6);
+        AtomicInteger searchThreadCount = new AtomicInteger();
+        this.searchExecutor = new ThreadPoolExecutor(searchThreads, searchThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(SEARCH_QUEUE_CAPACITY), task -> {
+                    Thread thread = new Thread(task, "search-" + searchThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.ticketCounters = new TicketCounters();
+        this.ticketRepository = new TicketRepository(connection, ticketCounters);
+        this.asyncTicketRepository = new AsyncTicketRepository(connection);
+        this.userRepository = new UserRepository(connection);
+        this.kbRepository = new KBRepository(connection);
+        this.categoryRepository = new CategoryRepository(connection);
+        this.commentRepository = new CommentRepository(connection);
+        this.auditRepository = new AuditRepository(connection);
+        this.metricRepository = new MetricRepository(connection);
+        this.slaRepository = new SLARepository(connection);
+        this.teamRepository = new TeamRepository(connection);
+        this.workflowRepository = new WorkflowRepository(connection);
+
+        this.ticketSearchIndex = new TicketSearchIndex();
+        this.ticketSimilarityIndex = new TicketSimilarityIndex();
+        this.duplicateTicketIndex = new DuplicateTicketIndex();
+        this.termSuggester = new TermSuggester();
+        this.ticketColumnStore = new TicketColumnStore();
+
+        this.aiService = new AIService();
+        this.ticketService = new TicketService(ticketRepository, duplicateTicketIndex);
+        this.ticketImportService = new TicketImportService(ticketRepository, this::refreshInMemoryViews);
+        this.searchService = new SearchService(ticketRepository, kbRepository, userRepository,
+                ticketSearchIndex, ticketSimilarityIndex, termSuggester, aiService, searchExecutor,
+                appConfig.getIntProperty("search.globalDeadlineMs", 2000));
+        this.analyticsService = new AnalyticsService(ticketRepository, asyncTicketRepository, metricRepository,
+                connection);
+        this.reportService = new ReportService(ticketRepository, auditRepository, ticketColumnStore);
+        this.slaService = new SLAService(slaRepository);
+        this.userService = new UserService(userRepository);
+        this.workflowEngine = new WorkflowEngine(workflowRepository);
+        this.notificationService = new NotificationService(connection);
+    }
+
+    public static ApplicationContext getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Verifies the database is reachable, applies the schema and registers the
+     * shutdown hook. Returns false if Neo4j cannot be reached. Only the first
+     * call does any work.
+     */
+    public boolean start() {
+        if (!started.compareAndSet(false, true)) {
+            return connection.testConnection();
+        }
+
+        if (!connection.testConnection()) {
+            started.set(false);
+            return false;
+        }
+
+        new SchemaInitializer(connection).initialize();
+
+        // Initial full count, then periodic repair of whatever writes outside the repository changed
+        ticketRepository.reconcileCounters();
+        long reconcileMinutes = appConfig.getIntProperty("analytics.counterReconcileMinutes", 15);
+        scheduler.scheduleWithFixedDelay(ticketRepository::reconcileCounters,
+                reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+        // In-memory views only see this process's writes; re-read them for everyone else's (CLI, bulk import)
+        long refreshMinutes = appConfig.getIntProperty("search.indexRefreshMinutes", 10);
+        scheduler.scheduleWithFixedDelay(this::refreshInMemoryViews,
+                refreshMinutes, refreshMinutes, TimeUnit.MINUTES);
+
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        System.out.println("✅ Application context started");
+        return true;
+    }
+
+    /**
+     * Rebuilds every in-memory ticket view that has been loaded (keyword,
+     * similarity, type-ahead and duplicate indexes, report column store) from
+     * Neo4j and drops the counted trend days. Runs on a schedule and after an
+     * import made in this process.
+     */
+    public void refreshInMemoryViews() {
+        searchService.refreshIndexes();
+        ticketService.refreshDuplicateIndex();
+        reportService.refreshColumns();
+        analyticsService.refreshTrend();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (Thread.currentThread() != shutdownHook && started.get()) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM is already shutting down, the hook will find the context closed
+            }
+        }
+        scheduler.shutdownNow();
+        searchExecutor.shutdownNow();
+        // Queued audit and metric events need the connection to be written
+        auditRepository.close();
+        metricRepository.close();
+        connection.close();
+        System.out.println("✅ Application context closed");
+    }
+
+    public AppConfig getAppConfig() {
+        return appConfig;
+    }
+
+    public Neo4jConnection getConnection() {
+        return connection;
+    }
+
+    public TicketCounters getTicketCounters() {
+        return ticketCounters;
+    }
+
+    public TicketRepository getTicketRepository() {
+        return ticketRepository;
+    }
+
+    public AsyncTicketRepository getAsyncTicketRepository() {
+        return asyncTicketRepository;
+    }
+
+    public UserRepository getUserRepository() {
+        return userRepository;
+    }
+
+    public KBRepository getKbRepository() {
+        return kbRepository;
+    }
+
+    public CategoryRepository getCategoryRepository() {
+        return categoryRepository;
+    }
+
+    public CommentRepository getCommentRepository() {
+        return commentRepository;
+    }
+
+    public AuditRepository getAuditRepository() {
+        return auditRepository;
+    }
+
+    public MetricRepository getMetricRepository() {
+        return metricRepository;
+    }
+
+    public SLARepository getSlaRepository() {
+        return slaRepository;
+    }
+
+    public TeamRepository getTeamRepository() {
+        return teamRepository;
+    }
+
+    public WorkflowRepository getWorkflowRepository() {
+        return workflowRepository;
+    }
+
+    public TicketSearchIndex getTicketSearchIndex() {
+        return ticketSearchIndex;
+    }
+
+    public TicketSimilarityIndex getTicketSimilarityIndex() {
+        return ticketSimilarityIndex;
+    }
+
+    public DuplicateTicketIndex getDuplicateTicketIndex() {
+        return duplicateTicketIndex;
+    }
+
+    public TicketColumnStore getTicketColumnStore() {
+        return ticketColumnStore;
+    }
+
+    public AIService getAiService() {
+        return aiService;
+    }
+
+    public TicketService getTicketService() {
+        return ticketService;
+    }
+
+    public TicketImportService getTicketImportService() {
+        return ticketImportService;
+    }
+
+    public SearchService getSearchService() {
+        return searchService;
+    }
+
+    public AnalyticsService getAnalyticsService() {
+        return analyticsService;
+    }
+
+    public ReportService getReportService() {
+        return reportService;
+    }
+
+    public SLAService getSlaService() {
+        return slaService;
+    }
+
+    public UserService getUserService() {
+        return userService;
+    }
+
+    public WorkflowEngine getWorkflowEngine() {
+        return workflowEngine;
+    }
+
+    public NotificationService getNotificationService() {
+        return notificationService;
+    }
+}
@@ -1,13 +1,16 @@
 package org.example.config;
 
 public class Neo4jConfig {
-    private static Neo4jConfig instance;
 
     private String uri;
     private String username;
     private String password;
     private int maxConnectionPoolSize;
     private long connectionTimeoutMs;
+    private long connectionAcquisitionTimeoutMs;
+    private long maxConnectionLifetimeMs;
+    private long livenessCheckTimeoutMs;
+    private long fetchSize;
     private boolean encrypted;
 
     private Neo4jConfig() {
@@ -17,14 +20,19 @@ public class Neo4jConfig {
         this.password = "11111111";
         this.maxConnectionPoolSize = 50;
         this.connectionTimeoutMs = 30000;
+        this.connectionAcquisitionTimeoutMs = 60000;
+        this.maxConnectionLifetimeMs = 3600000; // 1 hour
+        this.livenessCheckTimeoutMs = 30000; // Ping connections idle for longer before reuse
+        this.fetchSize = 1000;
         this.encrypted = false;
     }
 
+    private static class Holder {
+        private static final Neo4jConfig INSTANCE = new Neo4jConfig();
+    }
+
     public static Neo4jConfig getInstance() {
-        if (instance == null) {
-            instance = new Neo4jConfig();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public String getUri() {
@@ -67,6 +75,38 @@ public class Neo4jConfig {
         this.connectionTimeoutMs = connectionTimeoutMs;
     }
 
+    public long getConnectionAcquisitionTimeoutMs() {
+        return connectionAcquisitionTimeoutMs;
+    }
+
+    public void setConnectionAcquisitionTimeoutMs(long connectionAcquisitionTimeoutMs) {
+        this.connectionAcquisitionTimeoutMs = connectionAcquisitionTimeoutMs;
+    }
+
+    public long getMaxConnectionLifetimeMs() {
+        return maxConnectionLifetimeMs;
+    }
+
+    public void setMaxConnectionLifetimeMs(long maxConnectionLifetimeMs) {
+        this.maxConnectionLifetimeMs = maxConnectionLifetimeMs;
+    }
+
+    public long getLivenessCheckTimeoutMs() {
+        return livenessCheckTimeoutMs;
+    }
+
+    public void setLivenessCheckTimeoutMs(long livenessCheckTimeoutMs) {
+        this.livenessCheckTimeoutMs = livenessCheckTimeoutMs;
+    }
+
+    public long getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(long fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     public boolean isEncrypted() {
         return encrypted;
     }
@@ -82,9 +122,21 @@ public class Neo4jConfig {
         this.password = appConfig.getProperty("neo4j.password", this.password);
         this.maxConnectionPoolSize = appConfig.getIntProperty("neo4j.maxPoolSize", this.maxConnectionPoolSize);
         this.connectionTimeoutMs = appConfig.getIntProperty("neo4j.timeout", (int) this.connectionTimeoutMs);
+        this.connectionAcquisitionTimeoutMs = appConfig.getIntProperty("neo4j.acquisitionTimeout",
+                (int) this.connectionAcquisitionTimeoutMs);
+        this.maxConnectionLifetimeMs = appConfig.getIntProperty("neo4j.maxConnectionLifetime",
+                (int) this.maxConnectionLifetimeMs);
+        this.livenessCheckTimeoutMs = appConfig.getIntProperty("neo4j.livenessCheckTimeout",
+                (int) this.livenessCheckTimeoutMs);
+        this.fetchSize = appConfig.getIntProperty("neo4j.fetchSize", (int) this.fetchSize);
         this.encrypted = appConfig.getBooleanProperty("neo4j.encrypted", this.encrypted);
     }
 
+    // neo4j+s, bolt+ssc etc. carry their own security settings and reject explicit ones
+    public boolean usesSecureScheme() {
+        return uri != null && uri.contains("+s");
+    }
+
     @Override
     public String toString() {
         return "Neo4jConfig{" +
@@ -92,6 +144,10 @@ public class Neo4jConfig {
                 ", username='" + username + '\'' +
                 ", maxConnectionPoolSize=" + maxConnectionPoolSize +
                 ", connectionTimeoutMs=" + connectionTimeoutMs +
+                ", connectionAcquisitionTimeoutMs=" + connectionAcquisitionTimeoutMs +
+                ", maxConnectionLifetimeMs=" + maxConnectionLifetimeMs +
+                ", livenessCheckTimeoutMs=" + livenessCheckTimeoutMs +
+                ", fetchSize=" + fetchSize +
                 ", encrypted=" + encrypted +
                 '}';
     }
@@ -1,7 +1,6 @@
 package org.example.config;
 
 public class SecurityConfig {
-    private static SecurityConfig instance;
 
     private int passwordMinLength;
     private boolean requireUppercase;
@@ -26,11 +25,12 @@ public class SecurityConfig {
         this.enableTwoFactor = false;
     }
 
+    private static class Holder {
+        private static final SecurityConfig INSTANCE = new SecurityConfig();
+    }
+
     public static SecurityConfig getInstance() {
-        if (instance == null) {
-            instance = new SecurityConfig();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public int getPasswordMinLength() {
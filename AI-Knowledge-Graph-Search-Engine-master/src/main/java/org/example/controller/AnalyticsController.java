@@ -4,6 +4,8 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.chart.*;
 import javafx.scene.control.*;
+import org.example.config.ApplicationContext;
+import org.example.model.DashboardSnapshot;
 import org.example.service.AnalyticsService;
 
 import java.net.URL;
@@ -31,7 +33,7 @@ public class AnalyticsController implements Initializable {
     private final AnalyticsService analyticsService;
 
     public AnalyticsController() {
-        this.analyticsService = new AnalyticsService();
+        this.analyticsService = ApplicationContext.getInstance().getAnalyticsService();
     }
 
     @Override
@@ -49,20 +51,21 @@ public class AnalyticsController implements Initializable {
     }
 
     private void loadAnalyticsData() {
-        loadPerformanceMetrics();
+        DashboardSnapshot snapshot = analyticsService.getDashboardSnapshot();
+        loadPerformanceMetrics(snapshot);
         loadAgentPerformanceChart();
         loadSLAComplianceTrend();
-        loadCategoryDistribution();
+        loadCategoryDistribution(snapshot);
     }
 
-    private void loadPerformanceMetrics() {
+    private void loadPerformanceMetrics(DashboardSnapshot snapshot) {
         try {
-            double avgTime = analyticsService.calculateAverageResolutionTime();
+            double avgTime = snapshot.averageResolutionMinutes();
             if (avgResolutionTimeLabel != null) {
                 avgResolutionTimeLabel.setText(String.format("%.1f Hours", avgTime));
             }
 
-            double health = analyticsService.getSystemHealthScore();
+            double health = analyticsService.getSystemHealthScore(snapshot);
             if (systemHealthLabel != null) {
                 systemHealthLabel.setText(String.format("%.1f%%", health));
                 if (health > 90)
@@ -121,14 +124,13 @@ public class AnalyticsController implements Initializable {
         }
     }
 
-    private void loadCategoryDistribution() {
+    private void loadCategoryDistribution(DashboardSnapshot snapshot) {
         if (categoryPieChart == null)
             return;
 
         try {
-            Map<String, Long> distribution = analyticsService.getTicketsByCategory();
             categoryPieChart.getData().clear();
-            distribution.forEach((category, count) -> {
+            snapshot.byCategory().forEach((category, count) -> {
                 categoryPieChart.getData().add(new PieChart.Data(category, count));
             });
         } catch (Exception e) {
@@ -1,13 +1,20 @@
 package org.example.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.chart.*;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
+import org.example.config.ApplicationContext;
+import org.example.model.DashboardSnapshot;
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+import org.example.repository.AsyncQueries;
 import org.example.service.AnalyticsService;
 
 import java.net.URL;
+import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -37,33 +44,45 @@ public class DashboardController implements Initializable {
     private final AnalyticsService analyticsService;
 
     public DashboardController() {
-        this.analyticsService = new AnalyticsService();
+        this.analyticsService = ApplicationContext.getInstance().getAnalyticsService();
     }
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        loadDashboardMetrics();
         setupCharts();
-        loadChartData();
+        loadDashboard();
     }
 
-    private void loadDashboardMetrics() {
-        try {
-            Map<String, Object> metrics = analyticsService.getDashboardMetrics();
+    // Snapshot and trend are fetched concurrently off the FX thread; labels and charts all read the same snapshot
+    private void loadDashboard() {
+        AsyncQueries.both(
+                analyticsService.getDashboardSnapshotAsync(),
+                analyticsService.getTicketTrendAsync(7),
+                (snapshot, trend) -> {
+                    Platform.runLater(() -> {
+                        loadDashboardMetrics(snapshot);
+                        loadStatusChart(snapshot);
+                        loadPriorityChart(snapshot);
+                        loadTrendChart(trend);
+                    });
+                    return null;
+                });
+    }
 
+    private void loadDashboardMetrics(DashboardSnapshot snapshot) {
+        try {
             // Update metric labels
             if (totalTicketsLabel != null) {
-                totalTicketsLabel.setText(String.valueOf(metrics.get("totalTickets")));
+                totalTicketsLabel.setText(String.valueOf(snapshot.totalTickets()));
             }
             if (openTicketsLabel != null) {
-                openTicketsLabel.setText(String.valueOf(metrics.get("openTickets")));
+                openTicketsLabel.setText(String.valueOf(snapshot.count(TicketStatus.OPEN)));
             }
             if (resolvedTicketsLabel != null) {
-                resolvedTicketsLabel.setText(String.valueOf(metrics.get("resolvedTickets")));
+                resolvedTicketsLabel.setText(String.valueOf(snapshot.count(TicketStatus.RESOLVED)));
             }
             if (slaComplianceLabel != null) {
-                double compliance = (Double) metrics.get("slaComplianceRate");
-                slaComplianceLabel.setText(String.format("%.1f%%", compliance));
+                slaComplianceLabel.setText(String.format("%.1f%%", snapshot.slaComplianceRate()));
             }
 
             System.out.println("✅ Dashboard metrics loaded successfully");
@@ -92,44 +111,35 @@ public class DashboardController implements Initializable {
         }
     }
 
-    private void loadChartData() {
-        loadStatusChart();
-        loadPriorityChart();
-        loadTrendChart();
-    }
-
-    private void loadStatusChart() {
+    private void loadStatusChart(DashboardSnapshot snapshot) {
         if (statusPieChart == null)
             return;
 
         try {
-            Map<String, Long> statusCounts = analyticsService.getTicketsByStatus();
-
             statusPieChart.getData().clear();
-            statusCounts.forEach((status, count) -> {
+            for (TicketStatus status : TicketStatus.values()) {
+                long count = snapshot.count(status);
                 if (count > 0) {
                     PieChart.Data data = new PieChart.Data(status + " (" + count + ")", count);
                     statusPieChart.getData().add(data);
                 }
-            });
+            }
         } catch (Exception e) {
             System.err.println("❌ Error loading status chart: " + e.getMessage());
         }
     }
 
-    private void loadPriorityChart() {
+    private void loadPriorityChart(DashboardSnapshot snapshot) {
         if (priorityBarChart == null)
             return;
 
         try {
-            Map<String, Long> priorityCounts = analyticsService.getTicketsByPriority();
-
             XYChart.Series<String, Number> series = new XYChart.Series<>();
             series.setName("Tickets");
 
-            priorityCounts.forEach((priority, count) -> {
-                series.getData().add(new XYChart.Data<>(priority, count));
-            });
+            for (Priority priority : Priority.values()) {
+                series.getData().add(new XYChart.Data<>(priority.name(), snapshot.count(priority)));
+            }
 
             priorityBarChart.getData().clear();
             priorityBarChart.getData().add(series);
@@ -138,13 +148,11 @@ public class DashboardController implements Initializable {
         }
     }
 
-    private void loadTrendChart() {
+    private void loadTrendChart(List<Map<String, Object>> trendData) {
         if (trendLineChart == null)
             return;
 
         try {
-            var trendData = analyticsService.getTicketTrend(7);
-
             XYChart.Series<String, Number> createdSeries = new XYChart.Series<>();
             createdSeries.setName("Created");
 
@@ -171,8 +179,7 @@ public class DashboardController implements Initializable {
 
     @FXML
     private void handleRefresh() {
-        loadDashboardMetrics();
-        loadChartData();
+        loadDashboard();
         System.out.println("✅ Dashboard refreshed");
     }
 
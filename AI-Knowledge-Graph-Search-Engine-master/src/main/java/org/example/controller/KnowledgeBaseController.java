@@ -6,6 +6,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import org.example.config.ApplicationContext;
 import org.example.model.KnowledgeBase;
 import org.example.service.SearchService;
 import org.example.repository.KBRepository;
@@ -40,8 +41,8 @@ public class KnowledgeBaseController implements Initializable {
     private ObservableList<KnowledgeBase> articleList;
 
     public KnowledgeBaseController() {
-        this.kbRepository = new KBRepository();
-        this.searchService = new SearchService();
+        this.kbRepository = ApplicationContext.getInstance().getKbRepository();
+        this.searchService = ApplicationContext.getInstance().getSearchService();
     }
 
     @Override
@@ -117,17 +117,17 @@ public class LoginController implements Initializable {
 
 // Session Manager Class
 class SessionManager {
-    private static SessionManager instance;
     private String currentUser;
     private String userRole;
 
     private SessionManager() {}
 
+    private static class Holder {
+        private static final SessionManager INSTANCE = new SessionManager();
+    }
+
     public static SessionManager getInstance() {
-        if (instance == null) {
-            instance = new SessionManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public void setCurrentUser(String username) {
@@ -1,7 +1,10 @@
 package org.example.controller;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -11,8 +14,12 @@ import javafx.scene.layout.VBox;
 import javafx.geometry.Pos;
 import javafx.fxml.FXMLLoader;
 
+import org.example.config.ApplicationContext;
 import org.example.model.Ticket;
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
 import org.example.repository.TicketRepository;
+import org.example.service.AnalyticsService;
 
 import java.net.URL;
 import java.util.List;
@@ -20,6 +27,11 @@ import java.util.ResourceBundle;
 
 public class MainController implements Initializable {
 
+    // Tickets fetched per page for the ticket tables
+    private static final int TICKET_PAGE_SIZE = 200;
+    // Rows in the dashboard's recent tickets table
+    private static final int RECENT_TICKET_COUNT = 5;
+
     // Sidebar Buttons
     @FXML private Button btnDashboard;
     @FXML private Button btnTickets;
@@ -69,11 +81,28 @@ public class MainController implements Initializable {
     private Button activeButton;
     private ObservableList<Ticket> ticketList;
     private TicketRepository ticketRepository;
+    private AnalyticsService analyticsService;
+    private TicketPageProvider ticketPages;
+    private SearchSuggestions searchSuggestions;
+    private final Service<List<Ticket>> recentTickets = new Service<>() {
+        @Override
+        protected Task<List<Ticket>> createTask() {
+            return new Task<>() {
+                @Override
+                protected List<Ticket> call() {
+                    return ticketRepository.findPage(null, RECENT_TICKET_COUNT).getTickets();
+                }
+            };
+        }
+    };
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         // Initialize repository
-        ticketRepository = new TicketRepository();
+        ticketRepository = ApplicationContext.getInstance().getTicketRepository();
+        analyticsService = ApplicationContext.getInstance().getAnalyticsService();
+        ticketPages = new TicketPageProvider(ticketRepository, TICKET_PAGE_SIZE);
+        ticketList = ticketPages.getItems();
 
         // Set active button
         setActiveButton(btnDashboard);
@@ -85,13 +114,17 @@ public class MainController implements Initializable {
         // Setup filters
         setupFilters();
 
-        // Load data from Neo4j
-        loadTicketsFromDatabase();
+        // Type-ahead on the header search field
+        searchSuggestions = new SearchSuggestions(searchField,
+                ApplicationContext.getInstance().getSearchService());
 
         // Setup tables
         setupRecentTicketsTable();
         setupAllTicketsTable();
 
+        // Load data from Neo4j, the tables fill in as pages arrive
+        loadTicketsFromDatabase();
+
         // Load stats
         updateDashboardStats();
 
@@ -109,21 +142,42 @@ public class MainController implements Initializable {
                 "All", "Low", "Medium", "High", "Critical"
         ));
         priorityFilter.setValue("All");
+
+        // Filtering runs on the server, the loaded page only holds matching tickets
+        statusFilter.valueProperty().addListener((obs, old, value) -> applyFilters());
+        priorityFilter.valueProperty().addListener((obs, old, value) -> applyFilters());
     }
 
-    private void loadTicketsFromDatabase() {
+    private void applyFilters() {
+        ticketPages.filter(
+                fromDisplayName(TicketStatus.class, statusFilter.getValue()),
+                fromDisplayName(Priority.class, priorityFilter.getValue()));
+    }
+
+    // Whether an edited ticket still belongs in the filtered list; stored values may be enum or display names
+    private boolean matchesFilters(Ticket ticket) {
+        TicketStatus status = fromDisplayName(TicketStatus.class, statusFilter.getValue());
+        Priority priority = fromDisplayName(Priority.class, priorityFilter.getValue());
+        return (status == null || status == fromDisplayName(TicketStatus.class, ticket.getStatus()))
+                && (priority == null || priority == fromDisplayName(Priority.class, ticket.getPriority()));
+    }
+
+    // "In Progress" -> IN_PROGRESS; "All", blank or unknown -> null (no filter)
+    private static <E extends Enum<E>> E fromDisplayName(Class<E> type, String displayName) {
+        if (displayName == null || displayName.isBlank() || displayName.equals("All")) {
+            return null;
+        }
         try {
-            List<Ticket> tickets = ticketRepository.findAll();
-            ticketList = FXCollections.observableArrayList(tickets);
-            System.out.println("✅ Loaded " + tickets.size() + " tickets from Neo4j");
-        } catch (Exception e) {
-            System.err.println("❌ Error loading tickets: " + e.getMessage());
-            e.printStackTrace();
-            // Fallback to empty list
-            ticketList = FXCollections.observableArrayList();
+            return Enum.valueOf(type, displayName.trim().toUpperCase().replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 
+    private void loadTicketsFromDatabase() {
+        ticketPages.reload();
+    }
+
     private void setupRecentTicketsTable() {
         colTicketId.setCellValueFactory(new PropertyValueFactory<>("id"));
         colTitle.setCellValueFactory(new PropertyValueFactory<>("title"));
@@ -137,10 +191,17 @@ public class MainController implements Initializable {
         colStatus.setCellFactory(col -> createStatusCell());
         colPriority.setCellFactory(col -> createPriorityCell());
 
-        // Load recent tickets (first 5)
-        recentTicketsTable.setItems(FXCollections.observableArrayList(
-                ticketList.subList(0, Math.min(5, ticketList.size()))
-        ));
+        // Fetched on its own so the Tickets view filters do not narrow it
+        recentTickets.setOnSucceeded(event -> recentTicketsTable.setItems(
+                FXCollections.observableArrayList(recentTickets.getValue())));
+        recentTickets.setOnFailed(event -> System.err.println(
+                "❌ Error loading recent tickets: " + recentTickets.getException().getMessage()));
+        updateRecentTickets();
+    }
+
+    // Recent tickets are the first page of all tickets, newest first
+    private void updateRecentTickets() {
+        recentTickets.restart();
     }
 
     private void setupAllTicketsTable() {
@@ -196,7 +257,7 @@ public class MainController implements Initializable {
             }
         });
 
-        allTicketsTable.setItems(ticketList);
+        ticketPages.attach(allTicketsTable);
     }
 
     private TableCell<Ticket, String> createStatusCell() {
@@ -211,17 +272,18 @@ public class MainController implements Initializable {
                     Label label = new Label(status);
                     label.getStyleClass().add("status-badge");
 
-                    switch (status) {
-                        case "Open":
+                    // Stored values are enum names, older rows may hold display names
+                    switch (status.toUpperCase().replace(' ', '_')) {
+                        case "OPEN":
                             label.getStyleClass().add("status-open");
                             break;
-                        case "In Progress":
+                        case "IN_PROGRESS":
                             label.getStyleClass().add("status-progress");
                             break;
-                        case "Resolved":
+                        case "RESOLVED":
                             label.getStyleClass().add("status-resolved");
                             break;
-                        case "Closed":
+                        case "CLOSED":
                             label.getStyleClass().add("status-closed");
                             break;
                     }
@@ -244,17 +306,17 @@ public class MainController implements Initializable {
                 } else {
                     setText(priority);
 
-                    switch (priority) {
-                        case "Low":
+                    switch (priority.toUpperCase()) {
+                        case "LOW":
                             setStyle("-fx-text-fill: #0f5132;");
                             break;
-                        case "Medium":
+                        case "MEDIUM":
                             setStyle("-fx-text-fill: #664d03; -fx-font-weight: bold;");
                             break;
-                        case "High":
+                        case "HIGH":
                             setStyle("-fx-text-fill: #842029; -fx-font-weight: bold;");
                             break;
-                        case "Critical":
+                        case "CRITICAL":
                             setStyle("-fx-text-fill: #721c24; -fx-font-weight: bold;");
                             break;
                     }
@@ -264,15 +326,13 @@ public class MainController implements Initializable {
     }
 
     private void updateDashboardStats() {
-        long total = ticketList.size();
-        long open = ticketList.stream().filter(t -> "Open".equals(t.getStatus())).count();
-        long progress = ticketList.stream().filter(t -> "In Progress".equals(t.getStatus())).count();
-        long resolved = ticketList.stream().filter(t -> "Resolved".equals(t.getStatus())).count();
-
-        lblTotalTickets.setText(String.valueOf(total));
-        lblOpenTickets.setText(String.valueOf(open));
-        lblProgressTickets.setText(String.valueOf(progress));
-        lblResolvedTickets.setText(String.valueOf(resolved));
+        // Only one page is held in memory, so the counts come from the dashboard aggregate
+        analyticsService.getDashboardSnapshotAsync().thenAccept(snapshot -> Platform.runLater(() -> {
+            lblTotalTickets.setText(String.valueOf(snapshot.totalTickets()));
+            lblOpenTickets.setText(String.valueOf(snapshot.count(TicketStatus.OPEN)));
+            lblProgressTickets.setText(String.valueOf(snapshot.count(TicketStatus.IN_PROGRESS)));
+            lblResolvedTickets.setText(String.valueOf(snapshot.count(TicketStatus.RESOLVED)));
+        }));
     }
 
     // Navigation Handlers
@@ -334,6 +394,7 @@ public class MainController implements Initializable {
     @FXML
     private void handleSearch() {
         String query = searchField.getText();
+        searchSuggestions.hide();
         if (!query.isEmpty()) {
             showAlert("Search", "Searching for: " + query, Alert.AlertType.INFORMATION);
             // TODO: Implement search functionality
@@ -349,7 +410,7 @@ public class MainController implements Initializable {
     private void handleRefresh() {
         loadTicketsFromDatabase();
         allTicketsTable.refresh();
-        recentTicketsTable.refresh();
+        updateRecentTickets();
         updateDashboardStats();
         showAlert("Refresh", "Ticket list refreshed from database", Alert.AlertType.INFORMATION);
     }
@@ -374,6 +435,7 @@ public class MainController implements Initializable {
                 boolean success = ticketRepository.delete(ticket.getId());
                 if (success) {
                     ticketList.remove(ticket);
+                    updateRecentTickets();
                     updateDashboardStats();
                     showAlert("Success", "Ticket deleted successfully!", Alert.AlertType.INFORMATION);
                 } else {
@@ -429,19 +491,22 @@ public class MainController implements Initializable {
                     Ticket updated = ticketRepository.update(savedTicket);
                     if (updated != null) {
                         int index = ticketList.indexOf(ticket);
-                        if (index >= 0) {
+                        if (index >= 0 && matchesFilters(savedTicket)) {
                             ticketList.set(index, savedTicket);
+                        } else if (index >= 0) {
+                            ticketList.remove(index);
                         }
                     }
                 } else {
                     // Create new ticket in database
                     Ticket created = ticketRepository.create(savedTicket);
                     if (created != null) {
-                        ticketList.add(0, created);
+                        // The list only holds tickets matching the filters, let the server decide
+                        loadTicketsFromDatabase();
                     }
                 }
                 updateDashboardStats();
-                recentTicketsTable.refresh();
+                updateRecentTickets();
                 allTicketsTable.refresh();
             });
 
@@ -6,6 +6,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import org.example.config.ApplicationContext;
 import org.example.model.Notification;
 import org.example.service.NotificationService;
 
@@ -29,7 +30,7 @@ public class NotificationController implements Initializable {
     private final NotificationService notificationService;
 
     public NotificationController() {
-        this.notificationService = new NotificationService();
+        this.notificationService = ApplicationContext.getInstance().getNotificationService();
     }
 
     @Override
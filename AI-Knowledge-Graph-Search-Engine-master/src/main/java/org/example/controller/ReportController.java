@@ -3,6 +3,7 @@ package org.example.controller;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
+import org.example.config.ApplicationContext;
 import org.example.service.ReportService;
 
 import java.io.File;
@@ -29,7 +30,7 @@ public class ReportController implements Initializable {
     private final ReportService reportService;
 
     public ReportController() {
-        this.reportService = new ReportService();
+        this.reportService = ApplicationContext.getInstance().getReportService();
     }
 
     @Override
@@ -84,17 +85,32 @@ public class ReportController implements Initializable {
     private void handleExportCSV() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save CSV Report");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("JSON Lines Files", "*.jsonl", "*.jsonl.gz"),
+                new FileChooser.ExtensionFilter("Columnar Analytics Files", "*.tcol"));
         fileChooser.setInitialFileName(reportTypeCombo.getValue().replace(" ", "_").toLowerCase() + ".csv");
 
         File file = fileChooser.showSaveDialog(null);
         if (file != null) {
-            try {
-                reportService.exportReportToCSV(file.getAbsolutePath(), "DATA_FOR_" + reportTypeCombo.getValue());
-                showAlert("Success", "Report exported successfully to: " + file.getName());
-            } catch (Exception e) {
-                showAlert("Error", "Failed to export report: " + e.getMessage());
-            }
+            generationProgress.setVisible(true);
+            generationProgress.setProgress(-1);
+
+            // Large exports take a while, keep them off the FX thread
+            new Thread(() -> {
+                try {
+                    long rows = reportService.exportTickets(file.getAbsolutePath());
+                    javafx.application.Platform.runLater(() -> {
+                        generationProgress.setVisible(false);
+                        showAlert("Success", "Exported " + rows + " tickets to: " + file.getName());
+                    });
+                } catch (Exception e) {
+                    javafx.application.Platform.runLater(() -> {
+                        generationProgress.setVisible(false);
+                        showAlert("Error", "Failed to export report: " + e.getMessage());
+                    });
+                }
+            }).start();
         }
     }
 
@@ -6,6 +6,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import org.example.config.ApplicationContext;
 import org.example.model.SLA;
 import org.example.model.enums.Priority;
 import org.example.service.SLAService;
@@ -41,7 +42,7 @@ public class SLAController implements Initializable {
     private final SLAService slaService;
 
     public SLAController() {
-        this.slaService = new SLAService();
+        this.slaService = ApplicationContext.getInstance().getSlaService();
     }
 
     @Override
@@ -0,0 +1,114 @@
+package org.example.controller;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+import org.example.service.SearchService;
+
+import java.util.List;
+
+/**
+ * Type-ahead popup for a search field. Lookups wait until typing pauses for
+ * TYPING_DEBOUNCE and run on a {@link Service} worker; a newer keystroke
+ * restarts the service, which cancels the stale lookup, and results for text
+ * the field no longer shows are dropped.
+ */
+public class SearchSuggestions {
+    private static final Duration TYPING_DEBOUNCE = Duration.millis(150);
+
+    private final TextField field;
+    private final ContextMenu popup = new ContextMenu();
+    private final PauseTransition debounce = new PauseTransition(TYPING_DEBOUNCE);
+    private final LookupService lookup;
+    // Set while a picked suggestion is written into the field, so it does not trigger a lookup
+    private boolean applying;
+
+    public SearchSuggestions(TextField field, SearchService searchService) {
+        this.field = field;
+        this.lookup = new LookupService(searchService);
+
+        debounce.setOnFinished(event -> {
+            lookup.query = field.getText();
+            lookup.restart();
+        });
+        lookup.setOnSucceeded(event -> show(lookup.query, lookup.getValue()));
+        lookup.setOnFailed(event -> System.err.println("❌ Error loading search suggestions: "
+                + lookup.getException().getMessage()));
+
+        field.textProperty().addListener((obs, old, text) -> {
+            if (applying) {
+                return;
+            }
+            if (text == null || text.isBlank()) {
+                hide();
+            } else {
+                debounce.playFromStart();
+            }
+        });
+        field.focusedProperty().addListener((obs, old, focused) -> {
+            if (!focused) {
+                hide();
+            }
+        });
+    }
+
+    // Stops pending lookups and closes the popup, e.g. when the search is submitted
+    public void hide() {
+        debounce.stop();
+        lookup.cancel();
+        popup.hide();
+    }
+
+    private void show(String query, List<String> suggestions) {
+        if (!query.equals(field.getText()) || suggestions.isEmpty() || !field.isFocused()) {
+            popup.hide();
+            return;
+        }
+        popup.getItems().clear();
+        for (String suggestion : suggestions) {
+            MenuItem item = new MenuItem(suggestion);
+            item.setOnAction(event -> pick(suggestion));
+            popup.getItems().add(item);
+        }
+        if (!popup.isShowing()) {
+            popup.show(field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private void pick(String suggestion) {
+        applying = true;
+        try {
+            field.setText(suggestion + " ");
+            field.positionCaret(field.getText().length());
+        } finally {
+            applying = false;
+        }
+        popup.hide();
+    }
+
+    private static class LookupService extends Service<List<String>> {
+        private final SearchService searchService;
+        // Text to look up on the next start; only touched on the FX thread
+        private String query = "";
+
+        LookupService(SearchService searchService) {
+            this.searchService = searchService;
+        }
+
+        @Override
+        protected Task<List<String>> createTask() {
+            String text = query;
+            return new Task<>() {
+                @Override
+                protected List<String> call() {
+                    return searchService.getSuggestedSearchTerms(text);
+                }
+            };
+        }
+    }
+}
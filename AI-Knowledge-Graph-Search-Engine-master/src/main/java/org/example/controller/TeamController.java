@@ -6,6 +6,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import org.example.config.ApplicationContext;
 import org.example.model.Team;
 import org.example.repository.TeamRepository;
 import org.example.service.UserService;
@@ -42,8 +43,8 @@ public class TeamController implements Initializable {
     private ObservableList<Team> teamList;
 
     public TeamController() {
-        this.teamRepository = new TeamRepository();
-        this.userService = new UserService();
+        this.teamRepository = ApplicationContext.getInstance().getTeamRepository();
+        this.userService = ApplicationContext.getInstance().getUserService();
     }
 
     @Override
@@ -6,8 +6,10 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import org.example.model.Ticket;
+import org.example.model.enums.TicketStatus;
 
 import java.net.URL;
+import java.util.Locale;
 import java.util.ResourceBundle;
 
 public class TicketFormController implements Initializable {
@@ -61,7 +63,7 @@ public class TicketFormController implements Initializable {
 
         txtTitle.setText(ticket.getTitle());
         txtDescription.setText(ticket.getDescription());
-        comboPriority.setValue(ticket.getPriority());
+        comboPriority.setValue(toDisplayName(ticket.getPriority()));
         comboCategory.setValue(ticket.getCategory());
         comboAssignTo.setValue(ticket.getAssignedTo());
 
@@ -85,15 +87,15 @@ public class TicketFormController implements Initializable {
             ticket = currentTicket;
             ticket.setTitle(txtTitle.getText().trim());
             ticket.setDescription(txtDescription.getText().trim());
-            ticket.setPriority(comboPriority.getValue());
+            ticket.setPriority(toEnumName(comboPriority.getValue()));
             ticket.setCategory(comboCategory.getValue());
             ticket.setAssignedTo(comboAssignTo.getValue());
         } else {
             ticket = new Ticket();
             ticket.setTitle(txtTitle.getText().trim());
             ticket.setDescription(txtDescription.getText().trim());
-            ticket.setStatus("Open");
-            ticket.setPriority(comboPriority.getValue());
+            ticket.setStatus(TicketStatus.OPEN.name());
+            ticket.setPriority(toEnumName(comboPriority.getValue()));
             ticket.setCategory(comboCategory.getValue());
             ticket.setAssignedTo(comboAssignTo.getValue());
             ticket.setCreatedBy("Admin User");
@@ -115,6 +117,19 @@ public class TicketFormController implements Initializable {
         closeWindow();
     }
 
+    // Tickets store enum names, the combo box shows display names: "Medium" <-> MEDIUM
+    private static String toEnumName(String displayName) {
+        return displayName == null ? null : displayName.trim().toUpperCase(Locale.ROOT).replace(' ', '_');
+    }
+
+    private static String toDisplayName(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        String name = value.replace('_', ' ');
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1).toLowerCase(Locale.ROOT);
+    }
+
     @FXML
     private void handleCancel() {
         closeWindow();
@@ -0,0 +1,134 @@
+package org.example.controller;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+import org.example.model.Ticket;
+import org.example.model.TicketPage;
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+import org.example.repository.TicketCriteria;
+import org.example.repository.TicketRepository;
+
+/**
+ * Feeds ticket tables one keyset page at a time. Pages are fetched on a
+ * {@link Service} worker and applied to {@link #getItems()} on the FX thread;
+ * an attached table asks for the next page when its last row is rendered, so
+ * only what the user has scrolled through is ever loaded. Filters run on the
+ * server; a burst of filter changes settles for FILTER_DEBOUNCE before one
+ * query goes out, and a newer query supersedes any still in flight.
+ */
+public class TicketPageProvider {
+    private static final Duration FILTER_DEBOUNCE = Duration.millis(250);
+
+    private final ObservableList<Ticket> items = FXCollections.observableArrayList();
+    private final PageService service;
+    private final PauseTransition debounce = new PauseTransition(FILTER_DEBOUNCE);
+    private final int pageSize;
+    private String nextCursor;
+
+    public TicketPageProvider(TicketRepository ticketRepository, int pageSize) {
+        this.pageSize = pageSize;
+        this.service = new PageService(ticketRepository, TicketCriteria.builder().limit(pageSize).build());
+        service.setOnSucceeded(event -> applyPage(service.getValue()));
+        service.setOnFailed(event -> System.err.println("❌ Error loading tickets: "
+                + service.getException().getMessage()));
+    }
+
+    public ObservableList<Ticket> getItems() {
+        return items;
+    }
+
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return service.runningProperty();
+    }
+
+    /**
+     * Shows only tickets with the given status and priority (null for any),
+     * once the selection has been stable for FILTER_DEBOUNCE.
+     */
+    public void filter(TicketStatus status, Priority priority) {
+        TicketCriteria criteria = TicketCriteria.builder()
+                .status(status)
+                .priority(priority)
+                .limit(pageSize)
+                .build();
+        debounce.setOnFinished(event -> {
+            service.criteria = criteria;
+            reload();
+        });
+        debounce.playFromStart();
+    }
+
+    // Starts over from the first page, abandoning any page still in flight
+    public void reload() {
+        debounce.stop();
+        nextCursor = null;
+        service.cursor = null;
+        service.restart();
+    }
+
+    // Fetches the page after the loaded ones, if there is one and nothing is loading yet
+    public void loadMore() {
+        if (nextCursor == null || service.isRunning()) {
+            return;
+        }
+        service.cursor = nextCursor;
+        service.restart();
+    }
+
+    public void attach(TableView<Ticket> table) {
+        table.setItems(items);
+        // Rows are only created for visible items, so reaching the last one means the user scrolled to the end
+        table.setRowFactory(view -> new TableRow<>() {
+            @Override
+            public void updateIndex(int index) {
+                super.updateIndex(index);
+                if (index >= 0 && index == items.size() - 1 && nextCursor != null) {
+                    Platform.runLater(TicketPageProvider.this::loadMore);
+                }
+            }
+        });
+    }
+
+    private void applyPage(TicketPage page) {
+        if (service.cursor == null) {
+            items.setAll(page.getTickets());
+            System.out.println("✅ Loaded " + page.size() + " tickets from Neo4j");
+        } else {
+            items.addAll(page.getTickets());
+        }
+        nextCursor = page.getNextCursor();
+    }
+
+    private static class PageService extends Service<TicketPage> {
+        private final TicketRepository ticketRepository;
+        // Filter and page to fetch on the next start; only touched on the FX thread
+        private TicketCriteria criteria;
+        private String cursor;
+
+        PageService(TicketRepository ticketRepository, TicketCriteria criteria) {
+            this.ticketRepository = ticketRepository;
+            this.criteria = criteria;
+        }
+
+        @Override
+        protected Task<TicketPage> createTask() {
+            TicketCriteria pageCriteria = criteria;
+            String pageCursor = cursor;
+            return new Task<>() {
+                @Override
+                protected TicketPage call() {
+                    return ticketRepository.findPage(pageCriteria, pageCursor);
+                }
+            };
+        }
+    }
+}
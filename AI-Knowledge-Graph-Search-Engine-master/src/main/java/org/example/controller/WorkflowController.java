@@ -6,6 +6,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import org.example.config.ApplicationContext;
 import org.example.model.Workflow;
 import org.example.service.WorkflowEngine;
 
@@ -37,7 +38,7 @@ public class WorkflowController implements Initializable {
     private final WorkflowEngine workflowEngine;
 
     public WorkflowController() {
-        this.workflowEngine = new WorkflowEngine();
+        this.workflowEngine = ApplicationContext.getInstance().getWorkflowEngine();
     }
 
     @Override
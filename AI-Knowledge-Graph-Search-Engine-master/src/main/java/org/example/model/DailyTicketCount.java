@@ -0,0 +1,11 @@
+package org.example.model;
+
+import java.time.LocalDate;
+
+// Tickets created and resolved on one calendar day
+public record DailyTicketCount(LocalDate date, long created, long resolved) {
+
+    public static DailyTicketCount empty(LocalDate date) {
+        return new DailyTicketCount(date, 0, 0);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.model;
+
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+
+import java.util.Map;
+
+/**
+ * Ticket counts and resolution statistics taken in a single aggregation query,
+ * so every number on a dashboard describes the same moment.
+ */
+public record DashboardSnapshot(
+        long totalTickets,
+        Map<String, Long> byStatus,
+        Map<String, Long> byPriority,
+        Map<String, Long> byCategory,
+        long timedResolutions,
+        double averageResolutionMinutes) {
+
+    public DashboardSnapshot {
+        byStatus = Map.copyOf(byStatus);
+        byPriority = Map.copyOf(byPriority);
+        byCategory = Map.copyOf(byCategory);
+    }
+
+    public long count(TicketStatus status) {
+        return byStatus.getOrDefault(status.name(), 0L);
+    }
+
+    public long count(Priority priority) {
+        return byPriority.getOrDefault(priority.name(), 0L);
+    }
+
+    // No breach tracking yet, so every ticket counts as compliant
+    public double slaComplianceRate() {
+        if (totalTickets == 0)
+            return 100.0;
+        long breachedTickets = 0;
+        return ((double) (totalTickets - breachedTickets) / totalTickets) * 100.0;
+    }
+}
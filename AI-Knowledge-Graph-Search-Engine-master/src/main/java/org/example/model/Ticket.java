@@ -1,6 +1,8 @@
 package org.example.model;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Ticket {
     private String id;
@@ -16,6 +18,8 @@ public class Ticket {
     private LocalDateTime updatedAt;
     private LocalDateTime dueDate; // Added for SLA tracking
     private LocalDateTime resolvedAt; // Added for resolution tracking
+    private int[] minHash; // Signature for near-duplicate detection
+    private List<String> possibleDuplicateIds = new ArrayList<>(); // Set on creation, not persisted as a property
 
     public Ticket() {
         this.createdAt = LocalDateTime.now();
@@ -143,6 +147,26 @@ public class Ticket {
         this.resolvedAt = resolvedAt;
     }
 
+    public int[] getMinHash() {
+        return minHash;
+    }
+
+    public void setMinHash(int[] minHash) {
+        this.minHash = minHash;
+    }
+
+    public List<String> getPossibleDuplicateIds() {
+        return possibleDuplicateIds;
+    }
+
+    public void setPossibleDuplicateIds(List<String> possibleDuplicateIds) {
+        this.possibleDuplicateIds = possibleDuplicateIds;
+    }
+
+    public boolean hasPossibleDuplicates() {
+        return possibleDuplicateIds != null && !possibleDuplicateIds.isEmpty();
+    }
+
     public String getCreatedAtFormatted() {
         if (createdAt == null)
             return "";
@@ -0,0 +1,42 @@
+package org.example.model;
+
+import java.util.List;
+
+/**
+ * One page of tickets from a keyset-paginated query. Pass {@link #getNextCursor()}
+ * back to the repository to fetch the following page.
+ */
+public class TicketPage {
+    private final List<Ticket> tickets;
+    private final String nextCursor;
+
+    public TicketPage(List<Ticket> tickets, String nextCursor) {
+        this.tickets = tickets;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Ticket> getTickets() {
+        return tickets;
+    }
+
+    // Opaque continuation token, null on the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    public int size() {
+        return tickets.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TicketPage{" +
+                "size=" + tickets.size() +
+                ", hasMore=" + hasMore() +
+                '}';
+    }
+}
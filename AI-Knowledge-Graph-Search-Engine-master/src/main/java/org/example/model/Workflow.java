@@ -29,6 +29,21 @@ public class Workflow {
         this.triggerEvent = triggerEvent;
     }
 
+    public Workflow(Workflow other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.triggerEvent = other.triggerEvent;
+        this.active = other.active;
+        this.createdAt = other.createdAt;
+        this.createdBy = other.createdBy;
+        this.executionCount = other.executionCount;
+        this.steps = new ArrayList<>(other.steps.size());
+        for (WorkflowStep step : other.steps) {
+            this.steps.add(new WorkflowStep(step));
+        }
+    }
+
     public String getId() {
         return id;
     }
@@ -120,6 +135,13 @@ public class Workflow {
             this.action = action;
         }
 
+        public WorkflowStep(WorkflowStep other) {
+            this.order = other.order;
+            this.action = other.action;
+            this.condition = other.condition;
+            this.parameters = other.parameters;
+        }
+
         public int getOrder() {
             return order;
         }
@@ -0,0 +1,88 @@
+package org.example.repository;
+
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransactionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Helpers for the CompletionStage repositories: running a read on its own
+ * async session, and combining stages so callers can issue several queries
+ * at once and handle the results together.
+ *
+ * Stages complete on driver I/O threads. Keep callbacks short and hand UI
+ * work to the FX thread.
+ */
+public final class AsyncQueries {
+
+    private AsyncQueries() {
+    }
+
+    /**
+     * Runs work in a read transaction on a fresh async session and closes the
+     * session once the work has finished, successfully or not. Transient
+     * failures are retried by the driver like executeRead.
+     */
+    public static <T> CompletionStage<T> read(Neo4jConnection connection,
+            Function<AsyncTransactionContext, CompletionStage<T>> work) {
+        AsyncSession session;
+        try {
+            session = connection.getAsyncSession();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return session.executeReadAsync(work::apply)
+                .handle((result, error) -> session.closeAsync()
+                        .handle((closed, closeError) -> {
+                            if (error != null) {
+                                throw error instanceof CompletionException completion
+                                        ? completion
+                                        : new CompletionException(error);
+                            }
+                            return result;
+                        }))
+                .thenCompose(Function.identity());
+    }
+
+    // Completes with every result, in the order of the stages, once all have completed
+    public static <T> CompletionStage<List<T>> all(List<? extends CompletionStage<? extends T>> stages) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[stages.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = stages.get(i).toCompletableFuture();
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            List<T> results = new ArrayList<>(futures.length);
+            for (CompletableFuture<?> future : futures) {
+                @SuppressWarnings("unchecked")
+                T result = (T) future.join();
+                results.add(result);
+            }
+            return results;
+        });
+    }
+
+    public static <A, B, R> CompletionStage<R> both(CompletionStage<A> first, CompletionStage<B> second,
+            BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return first.thenCombine(second, combiner);
+    }
+
+    /**
+     * Logs a failure the way the blocking repositories do and completes with
+     * the fallback instead, so one failed query does not fail a whole fan-out.
+     */
+    public static <T> CompletionStage<T> orElse(CompletionStage<T> stage, T fallback, String action) {
+        return stage.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            System.err.println("❌ Error " + action + ": " + cause.getMessage());
+            return fallback;
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.repository;
+
+import org.example.model.DailyTicketCount;
+import org.example.model.DashboardSnapshot;
+import org.example.model.Ticket;
+import org.example.model.TicketPage;
+import org.example.model.enums.TicketStatus;
+import org.neo4j.driver.Values;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of the {@link TicketRepository} reads the UI
+ * issues, on the driver's async API. Same queries and mapping, same error
+ * contract: failures are logged and complete with the value the blocking
+ * method returns on error, so callers never see an exceptional stage.
+ */
+public class AsyncTicketRepository {
+    private final Neo4jConnection connection;
+
+    public AsyncTicketRepository(Neo4jConnection connection) {
+        this.connection = connection;
+    }
+
+    public CompletionStage<TicketPage> findPage(String cursor, int limit) {
+        CompletionStage<TicketPage> page = AsyncQueries.read(connection, tx -> tx
+                .runAsync(TicketRepository.pageQuery(cursor), TicketRepository.pageParameters(cursor, limit))
+                .thenCompose(result -> result.listAsync(TicketRepository::mapToTicket))
+                .thenApply(tickets -> TicketRepository.toPage(new ArrayList<>(tickets), limit)));
+        return AsyncQueries.orElse(page, new TicketPage(new ArrayList<>(), null), "fetching ticket page");
+    }
+
+    public CompletionStage<Ticket> findById(String id) {
+        CompletionStage<Ticket> ticket = AsyncQueries.read(connection, tx -> tx
+                .runAsync("MATCH (t:Ticket {id: $id}) RETURN t", Values.parameters("id", id))
+                .thenCompose(result -> result.listAsync(TicketRepository::mapToTicket))
+                .thenApply(tickets -> tickets.isEmpty() ? null : tickets.get(0)));
+        return AsyncQueries.orElse(ticket, null, "finding ticket");
+    }
+
+    public CompletionStage<Long> count() {
+        return AsyncQueries.orElse(countQuery(TicketRepository.COUNT_QUERY, Map.of()), 0L, "counting tickets");
+    }
+
+    public CompletionStage<Long> countByStatus(TicketStatus status) {
+        return AsyncQueries.orElse(
+                countQuery(TicketRepository.COUNT_BY_STATUS_QUERY, Map.of("status", status.name())), 0L,
+                "counting tickets by status");
+    }
+
+    // Straight from the database, like TicketRepository.aggregateDashboard
+    public CompletionStage<DashboardSnapshot> aggregateDashboard() {
+        CompletionStage<DashboardSnapshot> snapshot = AsyncQueries.read(connection, tx -> tx
+                .runAsync(TicketRepository.COUNT_CELLS_QUERY)
+                .thenCompose(result -> result.singleAsync())
+                .thenApply(record -> TicketCounters.snapshot(TicketRepository.toCells(record))));
+        return AsyncQueries.orElse(snapshot, TicketCounters.snapshot(Map.of()), "aggregating dashboard metrics");
+    }
+
+    // Completes with null if the query fails, as TicketRepository.countByDay returns null
+    public CompletionStage<List<DailyTicketCount>> countByDay(LocalDate from, LocalDate to) {
+        CompletionStage<List<DailyTicketCount>> days = AsyncQueries.read(connection, tx -> tx
+                .runAsync(TicketRepository.COUNT_BY_DAY_QUERY, TicketRepository.countByDayParameters(from, to))
+                .thenCompose(result -> result.listAsync(TicketRepository::toDailyCount)));
+        return AsyncQueries.orElse(days, null, "counting tickets by day");
+    }
+
+    private CompletionStage<Long> countQuery(String query, Map<String, Object> params) {
+        return AsyncQueries.read(connection, tx -> tx
+                .runAsync(query, params)
+                .thenCompose(result -> result.singleAsync())
+                .thenApply(record -> record.get("count").asLong()));
+    }
+}
@@ -1,44 +1,76 @@
 package org.example.repository;
 
 import org.example.model.AuditLog;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class AuditRepository {
+    // Audit events must not be lost, a full queue makes the caller write synchronously
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
     private final Driver driver;
+    private final WriteBehindQueue<AuditLog> writes;
 
-    public AuditRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public AuditRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
+        this.writes = new WriteBehindQueue<>("audit", QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MS,
+                WriteBehindQueue.OverflowPolicy.CALLER_RUNS, this::saveBatch);
     }
 
+    // Queued and written in the background, visible to the find methods once flushed
     public AuditLog save(AuditLog auditLog) {
-        try (Session session = driver.session()) {
-            String query = "CREATE (a:AuditLog {id: $id, action: $action, userId: $userId, username: $username, " +
-                    "entityType: $entityType, entityId: $entityId, oldValue: $oldValue, newValue: $newValue, " +
-                    "timestamp: $timestamp, ipAddress: $ipAddress, userAgent: $userAgent, result: $result}) RETURN a";
+        if (auditLog.getTimestamp() == null) {
+            auditLog.setTimestamp(LocalDateTime.now());
+        }
+        writes.enqueue(auditLog);
+        return auditLog;
+    }
 
-            session.run(query, parameters(
-                    "id", auditLog.getId(),
-                    "action", auditLog.getAction(),
-                    "userId", auditLog.getUserId(),
-                    "username", auditLog.getUsername(),
-                    "entityType", auditLog.getEntityType(),
-                    "entityId", auditLog.getEntityId(),
-                    "oldValue", auditLog.getOldValue(),
-                    "newValue", auditLog.getNewValue(),
-                    "timestamp",
-                    auditLog.getTimestamp() != null ? auditLog.getTimestamp().toString()
-                            : LocalDateTime.now().toString(),
-                    "ipAddress", auditLog.getIpAddress(),
-                    "userAgent", auditLog.getUserAgent(),
-                    "result", auditLog.getResult()));
-            return auditLog;
+    private void saveBatch(List<AuditLog> auditLogs) {
+        List<Map<String, Object>> rows = new ArrayList<>(auditLogs.size());
+        for (AuditLog auditLog : auditLogs) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", auditLog.getId());
+            row.put("action", auditLog.getAction());
+            row.put("userId", auditLog.getUserId());
+            row.put("username", auditLog.getUsername());
+            row.put("entityType", auditLog.getEntityType());
+            row.put("entityId", auditLog.getEntityId());
+            row.put("oldValue", auditLog.getOldValue());
+            row.put("newValue", auditLog.getNewValue());
+            row.put("timestamp", auditLog.getTimestamp().toString());
+            row.put("ipAddress", auditLog.getIpAddress());
+            row.put("userAgent", auditLog.getUserAgent());
+            row.put("result", auditLog.getResult());
+            rows.add(row);
         }
+
+        try (Session session = driver.session()) {
+            String query = "UNWIND $rows AS row " +
+                    "CREATE (a:AuditLog {id: row.id, action: row.action, userId: row.userId, username: row.username, " +
+                    "entityType: row.entityType, entityId: row.entityId, oldValue: row.oldValue, newValue: row.newValue, " +
+                    "timestamp: datetime(row.timestamp), ipAddress: row.ipAddress, userAgent: row.userAgent, " +
+                    "result: row.result})";
+            session.run(query, parameters("rows", rows)).consume();
+        }
+    }
+
+    public WriteBehindQueue.Stats getWriteStats() {
+        return writes.getStats();
+    }
+
+    // Writes out queued events and stops the background flusher
+    public void close() {
+        writes.close();
     }
 
     public List<AuditLog> findByUserId(String userId, int limit) {
+        writes.flush();
         try (Session session = driver.session()) {
             String query = "MATCH (a:AuditLog {userId: $userId}) RETURN a ORDER BY a.timestamp DESC LIMIT $limit";
             Result result = session.run(query, parameters("userId", userId, "limit", limit));
@@ -51,6 +83,7 @@ public class AuditRepository {
     }
 
     public List<AuditLog> findByEntityId(String entityType, String entityId) {
+        writes.flush();
         try (Session session = driver.session()) {
             String query = "MATCH (a:AuditLog {entityType: $entityType, entityId: $entityId}) RETURN a ORDER BY a.timestamp DESC";
             Result result = session.run(query, parameters("entityType", entityType, "entityId", entityId));
@@ -63,8 +96,9 @@ public class AuditRepository {
     }
 
     public List<AuditLog> findByDateRange(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        writes.flush();
         try (Session session = driver.session()) {
-            String query = "MATCH (a:AuditLog) WHERE a.timestamp >= $startDate AND a.timestamp <= $endDate " +
+            String query = "MATCH (a:AuditLog) WHERE a.timestamp >= datetime($startDate) AND a.timestamp <= datetime($endDate) " +
                     "RETURN a ORDER BY a.timestamp DESC LIMIT $limit";
             Result result = session.run(query, parameters(
                     "startDate", startDate.toString(),
@@ -79,6 +113,7 @@ public class AuditRepository {
     }
 
     public List<AuditLog> findRecent(int limit) {
+        writes.flush();
         try (Session session = driver.session()) {
             String query = "MATCH (a:AuditLog) RETURN a ORDER BY a.timestamp DESC LIMIT $limit";
             Result result = session.run(query, parameters("limit", limit));
@@ -91,8 +126,9 @@ public class AuditRepository {
     }
 
     public void deleteOlderThan(LocalDateTime date) {
+        writes.flush();
         try (Session session = driver.session()) {
-            String query = "MATCH (a:AuditLog) WHERE a.timestamp < $date DETACH DELETE a";
+            String query = "MATCH (a:AuditLog) WHERE a.timestamp < datetime($date) DETACH DELETE a";
             session.run(query, parameters("date", date.toString()));
         }
     }
@@ -111,7 +147,7 @@ public class AuditRepository {
         log.setUserAgent((String) map.get("userAgent"));
         log.setResult((String) map.get("result"));
         if (map.get("timestamp") != null) {
-            log.setTimestamp(LocalDateTime.parse((String) map.get("timestamp")));
+            log.setTimestamp(DateUtils.toLocalDateTime(map.get("timestamp")));
         }
         return log;
     }
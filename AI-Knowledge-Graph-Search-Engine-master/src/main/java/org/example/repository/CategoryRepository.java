@@ -1,23 +1,29 @@
 package org.example.repository;
 
 import org.example.model.Category;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class CategoryRepository {
+    // Categories change only through admin edits, which invalidate the cache
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
     private final Driver driver;
+    private final QueryCache<String, List<Category>> cache = new QueryCache<>("categories", CACHE_TTL, 1);
 
-    public CategoryRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public CategoryRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public Category save(Category category) {
         try (Session session = driver.session()) {
             String query = "MERGE (c:Category {id: $id}) " +
                     "SET c.name = $name, c.description = $description, c.parentCategoryId = $parentCategoryId, " +
-                    "c.color = $color, c.icon = $icon, c.active = $active, c.createdAt = $createdAt, " +
+                    "c.color = $color, c.icon = $icon, c.active = $active, c.createdAt = datetime($createdAt), " +
                     "c.ticketCount = $ticketCount RETURN c";
 
             session.run(query, parameters(
@@ -33,6 +39,8 @@ public class CategoryRepository {
                             : LocalDateTime.now().toString(),
                     "ticketCount", category.getTicketCount()));
             return category;
+        } finally {
+            cache.invalidateAll();
         }
     }
 
@@ -48,6 +56,10 @@ public class CategoryRepository {
     }
 
     public List<Category> findAll() {
+        return cache.get("all", key -> Collections.unmodifiableList(loadAll()));
+    }
+
+    private List<Category> loadAll() {
         try (Session session = driver.session()) {
             String query = "MATCH (c:Category) RETURN c ORDER BY c.name";
             Result result = session.run(query);
@@ -86,9 +98,15 @@ public class CategoryRepository {
     public void delete(String id) {
         try (Session session = driver.session()) {
             session.run("MATCH (c:Category {id: $id}) DETACH DELETE c", parameters("id", id));
+        } finally {
+            cache.invalidateAll();
         }
     }
 
+    public QueryCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
     private Category mapToCategory(Map<String, Object> map) {
         Category category = new Category();
         category.setId((String) map.get("id"));
@@ -100,7 +118,7 @@ public class CategoryRepository {
         category.setActive(map.get("active") != null ? (Boolean) map.get("active") : true);
         category.setTicketCount(map.get("ticketCount") != null ? ((Long) map.get("ticketCount")).intValue() : 0);
         if (map.get("createdAt") != null) {
-            category.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            category.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return category;
     }
@@ -1,6 +1,7 @@
 package org.example.repository;
 
 import org.example.model.Comment;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -9,15 +10,15 @@ import static org.neo4j.driver.Values.parameters;
 public class CommentRepository {
     private final Driver driver;
 
-    public CommentRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public CommentRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public Comment save(Comment comment) {
         try (Session session = driver.session()) {
             String query = "MERGE (c:Comment {id: $id}) " +
                     "SET c.content = $content, c.ticketId = $ticketId, c.authorId = $authorId, " +
-                    "c.authorName = $authorName, c.createdAt = $createdAt, c.isInternal = $isInternal, " +
+                    "c.authorName = $authorName, c.createdAt = datetime($createdAt), c.isInternal = $isInternal, " +
                     "c.edited = $edited RETURN c";
 
             session.run(query, parameters(
@@ -62,7 +63,7 @@ public class CommentRepository {
         comment.setInternal(map.get("isInternal") != null ? (Boolean) map.get("isInternal") : false);
         comment.setEdited(map.get("edited") != null ? (Boolean) map.get("edited") : false);
         if (map.get("createdAt") != null) {
-            comment.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            comment.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return comment;
     }
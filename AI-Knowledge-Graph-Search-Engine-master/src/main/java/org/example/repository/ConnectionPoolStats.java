@@ -0,0 +1,102 @@
+package org.example.repository;
+
+import org.neo4j.driver.ConnectionPoolMetrics;
+
+import java.util.Collection;
+
+/**
+ * Point-in-time gauges of the Neo4j driver connection pools, summed over all
+ * server addresses the driver talks to.
+ */
+public class ConnectionPoolStats {
+    private final int maxPoolSize;
+    private final int inUse;
+    private final int idle;
+    private final int acquiring;
+    private final long acquired;
+    private final long timedOutToAcquire;
+    private final long totalAcquisitionTimeMs;
+
+    public ConnectionPoolStats(int maxPoolSize, int inUse, int idle, int acquiring, long acquired,
+            long timedOutToAcquire, long totalAcquisitionTimeMs) {
+        this.maxPoolSize = maxPoolSize;
+        this.inUse = inUse;
+        this.idle = idle;
+        this.acquiring = acquiring;
+        this.acquired = acquired;
+        this.timedOutToAcquire = timedOutToAcquire;
+        this.totalAcquisitionTimeMs = totalAcquisitionTimeMs;
+    }
+
+    public static ConnectionPoolStats empty(int maxPoolSize) {
+        return new ConnectionPoolStats(maxPoolSize, 0, 0, 0, 0, 0, 0);
+    }
+
+    public static ConnectionPoolStats of(int maxPoolSize, Collection<ConnectionPoolMetrics> pools) {
+        int inUse = 0;
+        int idle = 0;
+        int acquiring = 0;
+        long acquired = 0;
+        long timedOut = 0;
+        long acquisitionTime = 0;
+        for (ConnectionPoolMetrics pool : pools) {
+            inUse += pool.inUse();
+            idle += pool.idle();
+            acquiring += pool.acquiring();
+            acquired += pool.acquired();
+            timedOut += pool.timedOutToAcquire();
+            acquisitionTime += pool.totalAcquisitionTime();
+        }
+        return new ConnectionPoolStats(maxPoolSize, inUse, idle, acquiring, acquired, timedOut, acquisitionTime);
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    // Threads currently waiting for a connection
+    public int getAcquiring() {
+        return acquiring;
+    }
+
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public long getTimedOutToAcquire() {
+        return timedOutToAcquire;
+    }
+
+    public long getTotalAcquisitionTimeMs() {
+        return totalAcquisitionTimeMs;
+    }
+
+    // Mean wait for a connection since the driver started
+    public double getAverageAcquisitionTimeMs() {
+        return acquired == 0 ? 0.0 : (double) totalAcquisitionTimeMs / acquired;
+    }
+
+    public double getUtilization() {
+        return maxPoolSize == 0 ? 0.0 : (double) inUse / maxPoolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats{" +
+                "inUse=" + inUse +
+                ", idle=" + idle +
+                ", acquiring=" + acquiring +
+                ", maxPoolSize=" + maxPoolSize +
+                ", avgAcquisitionTimeMs=" + String.format("%.2f", getAverageAcquisitionTimeMs()) +
+                ", timedOutToAcquire=" + timedOutToAcquire +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.repository;
+
+/**
+ * Turns free text typed by a user into a Lucene query string for
+ * db.index.fulltext.queryNodes.
+ */
+public final class FullTextQueries {
+
+    private static final String SPECIAL_CHARACTERS = "+-&|!(){}[]^\"~*?:\\/";
+
+    private FullTextQueries() {
+    }
+
+    /**
+     * Escapes every term and matches the last one as a prefix as well, so a
+     * partially typed word still finds results. Terms are lower-cased because
+     * wildcard terms skip the analyzer and upper-case AND/OR/NOT are operators.
+     * Returns null for blank input.
+     */
+    public static String toLuceneQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+
+        String[] terms = text.trim().toLowerCase().split("\\s+");
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < terms.length; i++) {
+            String term = escape(terms[i]);
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            if (i == terms.length - 1) {
+                query.append('(').append(term).append(" OR ").append(term).append("*)");
+            } else {
+                query.append(term);
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    public static String escape(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -1,16 +1,20 @@
 package org.example.repository;
 
 import org.example.model.KnowledgeBase;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class KBRepository {
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
     private final Driver driver;
 
-    public KBRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public KBRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public KnowledgeBase save(KnowledgeBase kb) {
@@ -18,7 +22,7 @@ public class KBRepository {
             String query = "MERGE (k:KnowledgeBase {id: $id}) " +
                     "SET k.title = $title, k.content = $content, k.categoryId = $categoryId, " +
                     "k.authorId = $authorId, k.viewCount = $viewCount, k.helpfulCount = $helpfulCount, " +
-                    "k.published = $published, k.createdAt = $createdAt RETURN k";
+                    "k.published = $published, k.createdAt = datetime($createdAt) RETURN k";
 
             session.run(query, parameters(
                     "id", kb.getId(),
@@ -71,10 +75,35 @@ public class KBRepository {
     }
 
     public List<KnowledgeBase> searchByTitle(String searchTerm) {
+        return searchByTitle(searchTerm, 0, DEFAULT_SEARCH_LIMIT);
+    }
+
+    // As searchByTitle, but the server stops the query after the timeout
+    public List<KnowledgeBase> searchByTitle(String searchTerm, int limit, Duration timeout) {
+        return searchByTitle(searchTerm, 0, limit, Neo4jConnection.timeout(timeout));
+    }
+
+    // Full-text search over title and content, ranked by relevance
+    public List<KnowledgeBase> searchByTitle(String searchTerm, int skip, int limit) {
+        return searchByTitle(searchTerm, skip, limit, TransactionConfig.empty());
+    }
+
+    private List<KnowledgeBase> searchByTitle(String searchTerm, int skip, int limit, TransactionConfig config) {
+        List<KnowledgeBase> articles = new ArrayList<>();
+        String luceneQuery = FullTextQueries.toLuceneQuery(searchTerm);
+        if (luceneQuery == null) {
+            return articles;
+        }
+
         try (Session session = driver.session()) {
-            String query = "MATCH (k:KnowledgeBase) WHERE k.title CONTAINS $searchTerm AND k.published = true RETURN k ORDER BY k.viewCount DESC LIMIT 20";
-            Result result = session.run(query, parameters("searchTerm", searchTerm));
-            List<KnowledgeBase> articles = new ArrayList<>();
+            String query = "CALL db.index.fulltext.queryNodes($index, $query) YIELD node AS k, score " +
+                    "WHERE k.published = true " +
+                    "RETURN k, score ORDER BY score DESC, k.viewCount DESC SKIP $skip LIMIT $limit";
+            Result result = session.run(query, Map.<String, Object>of(
+                    "index", SchemaInitializer.KB_FULLTEXT_INDEX,
+                    "query", luceneQuery,
+                    "skip", skip,
+                    "limit", limit), config);
             while (result.hasNext()) {
                 articles.add(mapToKB(result.next().get("k").asMap()));
             }
@@ -99,7 +128,7 @@ public class KBRepository {
         kb.setHelpfulCount(map.get("helpfulCount") != null ? ((Long) map.get("helpfulCount")).intValue() : 0);
         kb.setPublished(map.get("published") != null ? (Boolean) map.get("published") : false);
         if (map.get("createdAt") != null) {
-            kb.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            kb.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return kb;
     }
@@ -1,41 +1,73 @@
 package org.example.repository;
 
 import org.example.model.Metric;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class MetricRepository {
+    // Metrics are sampled, under overload dropping some beats slowing the caller
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
     private final Driver driver;
+    private final WriteBehindQueue<Metric> writes;
 
-    public MetricRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public MetricRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
+        this.writes = new WriteBehindQueue<>("metric", QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MS,
+                WriteBehindQueue.OverflowPolicy.DROP, this::saveBatch);
     }
 
+    // Queued and written in the background, visible to the find methods once flushed
     public Metric save(Metric metric) {
-        try (Session session = driver.session()) {
-            String query = "CREATE (m:Metric {id: $id, name: $name, description: $description, " +
-                    "metricType: $metricType, value: $value, unit: $unit, timestamp: $timestamp, " +
-                    "entityId: $entityId, entityType: $entityType, period: $period}) RETURN m";
+        if (metric.getTimestamp() == null) {
+            metric.setTimestamp(LocalDateTime.now());
+        }
+        writes.enqueue(metric);
+        return metric;
+    }
+
+    private void saveBatch(List<Metric> metrics) {
+        List<Map<String, Object>> rows = new ArrayList<>(metrics.size());
+        for (Metric metric : metrics) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", metric.getId());
+            row.put("name", metric.getName());
+            row.put("description", metric.getDescription());
+            row.put("metricType", metric.getMetricType());
+            row.put("value", metric.getValue());
+            row.put("unit", metric.getUnit());
+            row.put("timestamp", metric.getTimestamp().toString());
+            row.put("entityId", metric.getEntityId());
+            row.put("entityType", metric.getEntityType());
+            row.put("period", metric.getPeriod());
+            rows.add(row);
+        }
 
-            session.run(query, parameters(
-                    "id", metric.getId(),
-                    "name", metric.getName(),
-                    "description", metric.getDescription(),
-                    "metricType", metric.getMetricType(),
-                    "value", metric.getValue(),
-                    "unit", metric.getUnit(),
-                    "timestamp",
-                    metric.getTimestamp() != null ? metric.getTimestamp().toString() : LocalDateTime.now().toString(),
-                    "entityId", metric.getEntityId(),
-                    "entityType", metric.getEntityType(),
-                    "period", metric.getPeriod()));
-            return metric;
+        try (Session session = driver.session()) {
+            String query = "UNWIND $rows AS row " +
+                    "CREATE (m:Metric {id: row.id, name: row.name, description: row.description, " +
+                    "metricType: row.metricType, value: row.value, unit: row.unit, timestamp: datetime(row.timestamp), " +
+                    "entityId: row.entityId, entityType: row.entityType, period: row.period})";
+            session.run(query, parameters("rows", rows)).consume();
         }
     }
 
+    public WriteBehindQueue.Stats getWriteStats() {
+        return writes.getStats();
+    }
+
+    // Writes out queued events and stops the background flusher
+    public void close() {
+        writes.close();
+    }
+
     public List<Metric> findByEntityId(String entityId) {
+        writes.flush();
         try (Session session = driver.session()) {
             String query = "MATCH (m:Metric {entityId: $entityId}) RETURN m ORDER BY m.timestamp DESC";
             Result result = session.run(query, parameters("entityId", entityId));
@@ -48,9 +80,10 @@ public class MetricRepository {
     }
 
     public List<Metric> findByMetricType(String metricType, LocalDateTime startDate, LocalDateTime endDate) {
+        writes.flush();
         try (Session session = driver.session()) {
             String query = "MATCH (m:Metric {metricType: $metricType}) " +
-                    "WHERE m.timestamp >= $startDate AND m.timestamp <= $endDate " +
+                    "WHERE m.timestamp >= datetime($startDate) AND m.timestamp <= datetime($endDate) " +
                     "RETURN m ORDER BY m.timestamp";
             Result result = session.run(query, parameters(
                     "metricType", metricType,
@@ -65,6 +98,7 @@ public class MetricRepository {
     }
 
     public List<Metric> findRecent(int limit) {
+        writes.flush();
         try (Session session = driver.session()) {
             String query = "MATCH (m:Metric) RETURN m ORDER BY m.timestamp DESC LIMIT $limit";
             Result result = session.run(query, parameters("limit", limit));
@@ -77,8 +111,9 @@ public class MetricRepository {
     }
 
     public void deleteOlderThan(LocalDateTime date) {
+        writes.flush();
         try (Session session = driver.session()) {
-            String query = "MATCH (m:Metric) WHERE m.timestamp < $date DETACH DELETE m";
+            String query = "MATCH (m:Metric) WHERE m.timestamp < datetime($date) DETACH DELETE m";
             session.run(query, parameters("date", date.toString()));
         }
     }
@@ -95,7 +130,7 @@ public class MetricRepository {
         metric.setEntityType((String) map.get("entityType"));
         metric.setPeriod((String) map.get("period"));
         if (map.get("timestamp") != null) {
-            metric.setTimestamp(LocalDateTime.parse((String) map.get("timestamp")));
+            metric.setTimestamp(DateUtils.toLocalDateTime(map.get("timestamp")));
         }
         return metric;
     }
@@ -1,43 +1,94 @@
 package org.example.repository;
 
+import org.example.config.Neo4jConfig;
 import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Config;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.async.AsyncSession;
 
-
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Neo4jConnection {
-    private static Neo4jConnection instance;
     private final Driver driver;
-
-    // TODO: Replace with your Neo4j credentials
-    private static final String URI = "bolt://localhost:7687";
-    private static final String USER = "neo4j";
-    private static final String PASSWORD = "11111111";
+    private final Neo4jConfig config;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     private Neo4jConnection() {
-        driver = GraphDatabase.driver(URI, AuthTokens.basic(USER, PASSWORD));
-        System.out.println("✅ Connected to Neo4j!");
+        config = Neo4jConfig.getInstance();
+        config.loadFromAppConfig();
+        driver = GraphDatabase.driver(config.getUri(),
+                AuthTokens.basic(config.getUsername(), config.getPassword()),
+                buildDriverConfig(config));
+        System.out.println("✅ Connected to Neo4j! " + config);
+    }
+
+    private static class Holder {
+        private static final Neo4jConnection INSTANCE = new Neo4jConnection();
     }
-    
+
     public static Neo4jConnection getInstance() {
-        if (instance == null) {
-            instance = new Neo4jConnection();
+        return Holder.INSTANCE;
+    }
+
+    private static Config buildDriverConfig(Neo4jConfig config) {
+        Config.ConfigBuilder builder = Config.builder()
+                .withMaxConnectionPoolSize(config.getMaxConnectionPoolSize())
+                .withConnectionTimeout(config.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withConnectionAcquisitionTimeout(config.getConnectionAcquisitionTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withMaxConnectionLifetime(config.getMaxConnectionLifetimeMs(), TimeUnit.MILLISECONDS)
+                .withConnectionLivenessCheckTimeout(config.getLivenessCheckTimeoutMs(), TimeUnit.MILLISECONDS)
+                .withFetchSize(config.getFetchSize())
+                .withDriverMetrics();
+
+        // The driver refuses explicit encryption settings on +s/+ssc URIs
+        if (!config.usesSecureScheme()) {
+            builder = config.isEncrypted() ? builder.withEncryption() : builder.withoutEncryption();
         }
-        return instance;
+        return builder.build();
     }
 
     public Session getSession() {
         return driver.session();
     }
 
+    // Non-blocking session, close it with closeAsync(); see AsyncQueries
+    public AsyncSession getAsyncSession() {
+        return driver.session(AsyncSession.class);
+    }
+
+    /**
+     * Transaction config that has the server stop the query after the given
+     * time. Rounded up to whole milliseconds and to at least one, since a
+     * zero timeout would mean the server default.
+     */
+    public static TransactionConfig timeout(Duration timeout) {
+        long millis = Math.max(1, (timeout.toNanos() + 999_999) / 1_000_000);
+        return TransactionConfig.builder().withTimeout(Duration.ofMillis(millis)).build();
+    }
+
     public Driver getDriver() {
         return driver;
     }
 
+    // Current pool gauges, use to size neo4j.maxPoolSize under load
+    public ConnectionPoolStats getPoolStats() {
+        try {
+            return ConnectionPoolStats.of(config.getMaxConnectionPoolSize(),
+                    driver.metrics().connectionPoolMetrics());
+        } catch (IllegalStateException e) {
+            // Metrics disabled on this driver
+            return ConnectionPoolStats.empty(config.getMaxConnectionPoolSize());
+        }
+    }
+
+    // Safe to call more than once, e.g. from both a window close and a shutdown hook
     public void close() {
-        if (driver != null) {
+        if (closed.compareAndSet(false, true)) {
             driver.close();
             System.out.println("❌ Neo4j connection closed");
         }
@@ -52,4 +103,4 @@ public class Neo4jConnection {
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package org.example.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for repository queries whose results rarely change.
+ * Entries live for the cache's TTL, the least recently used one is evicted
+ * once maxEntries is exceeded, and the owning repository calls
+ * {@link #invalidateAll()} after each of its writes. Null results are cached
+ * like any other value.
+ * <p>
+ * Values are handed to every caller as-is, so repositories store lists
+ * unmodifiable. A load that overlaps an invalidation is returned but not
+ * cached, so a write is never hidden by a query that read before it.
+ */
+public class QueryCache<K, V> {
+    private static final List<QueryCache<?, ?>> CACHES = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxEntries;
+    // Everything below is guarded by this
+    private final Map<K, Entry<V>> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryCache(String name, Duration ttl, int maxEntries) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > QueryCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        CACHES.add(this);
+    }
+
+    // Statistics of every cache created so far, e.g. for the system health view
+    public static List<Stats> allStats() {
+        List<Stats> stats = new ArrayList<>(CACHES.size());
+        for (QueryCache<?, ?> cache : CACHES) {
+            stats.add(cache.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Cached value for key, or the loader's result on a miss. The loader runs
+     * outside the lock; if it throws, nothing is cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt < 0) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+        invalidations++;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(name, entries.size(), maxEntries, hits, misses, evictions, invalidations);
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Counters are cumulative since the cache was created
+    public static class Stats {
+        private final String name;
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        public Stats(String name, int size, int maxEntries, long hits, long misses, long evictions,
+                long invalidations) {
+            this.name = name;
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        // Includes lookups that found an expired entry
+        public long getMisses() {
+            return misses;
+        }
+
+        // Entries dropped to stay within maxEntries
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "QueryCache.Stats{" +
+                    "name=" + name +
+                    ", size=" + size +
+                    ", maxEntries=" + maxEntries +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", hitRate=" + String.format("%.2f", getHitRate()) +
+                    ", evictions=" + evictions +
+                    ", invalidations=" + invalidations +
+                    '}';
+        }
+    }
+}
@@ -2,16 +2,23 @@ package org.example.repository;
 
 import org.example.model.SLA;
 import org.example.model.enums.Priority;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class SLARepository {
+    // Read for every ticket whose deadlines are computed; a priority without an SLA is cached as null
+    private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+
     private final Driver driver;
+    private final QueryCache<Priority, SLA> cache = new QueryCache<>("slaByPriority", CACHE_TTL,
+            Priority.values().length);
 
-    public SLARepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public SLARepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public SLA save(SLA sla) {
@@ -19,7 +26,7 @@ public class SLARepository {
             String query = "MERGE (s:SLA {id: $id}) " +
                     "SET s.name = $name, s.description = $description, s.priority = $priority, " +
                     "s.responseTimeMinutes = $responseTimeMinutes, s.resolutionTimeMinutes = $resolutionTimeMinutes, " +
-                    "s.active = $active, s.createdAt = $createdAt, s.categoryId = $categoryId RETURN s";
+                    "s.active = $active, s.createdAt = datetime($createdAt), s.categoryId = $categoryId RETURN s";
 
             session.run(query, parameters(
                     "id", sla.getId(),
@@ -33,6 +40,8 @@ public class SLARepository {
                     sla.getCreatedAt() != null ? sla.getCreatedAt().toString() : LocalDateTime.now().toString(),
                     "categoryId", sla.getCategoryId()));
             return sla;
+        } finally {
+            cache.invalidateAll();
         }
     }
 
@@ -60,6 +69,10 @@ public class SLARepository {
     }
 
     public SLA findByPriority(Priority priority) {
+        return cache.get(priority, this::loadByPriority);
+    }
+
+    private SLA loadByPriority(Priority priority) {
         try (Session session = driver.session()) {
             String query = "MATCH (s:SLA {priority: $priority, active: true}) RETURN s LIMIT 1";
             Result result = session.run(query, parameters("priority", priority.name()));
@@ -73,9 +86,15 @@ public class SLARepository {
     public void delete(String id) {
         try (Session session = driver.session()) {
             session.run("MATCH (s:SLA {id: $id}) DETACH DELETE s", parameters("id", id));
+        } finally {
+            cache.invalidateAll();
         }
     }
 
+    public QueryCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
     private SLA mapToSLA(Map<String, Object> map) {
         SLA sla = new SLA();
         sla.setId((String) map.get("id"));
@@ -91,7 +110,7 @@ public class SLARepository {
         sla.setActive(map.get("active") != null ? (Boolean) map.get("active") : true);
         sla.setCategoryId((String) map.get("categoryId"));
         if (map.get("createdAt") != null) {
-            sla.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            sla.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return sla;
     }
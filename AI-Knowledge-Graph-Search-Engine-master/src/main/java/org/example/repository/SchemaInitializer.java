@@ -0,0 +1,74 @@
+package org.example.repository;
+
+import org.neo4j.driver.Session;
+
+import java.util.List;
+
+/**
+ * Creates the indexes the repositories rely on. Every statement is idempotent,
+ * so this is safe to run on each application start.
+ */
+public class SchemaInitializer {
+
+    public static final String TICKET_FULLTEXT_INDEX = "ticket_fulltext";
+    public static final String KB_FULLTEXT_INDEX = "kb_fulltext";
+    public static final String USER_FULLTEXT_INDEX = "user_fulltext";
+
+    private static final int INDEX_WAIT_SECONDS = 30;
+
+    private static final List<String> STATEMENTS = List.of(
+            // Lets the bulk import MERGE tickets by id with an index seek
+            "CREATE CONSTRAINT ticket_id_unique IF NOT EXISTS FOR (t:Ticket) REQUIRE t.id IS UNIQUE",
+            "CREATE INDEX user_id_index IF NOT EXISTS FOR (u:User) ON (u.id)",
+            "CREATE INDEX category_name_index IF NOT EXISTS FOR (c:Category) ON (c.name)",
+            "CREATE FULLTEXT INDEX " + TICKET_FULLTEXT_INDEX + " IF NOT EXISTS " +
+                    "FOR (t:Ticket) ON EACH [t.title, t.description]",
+            "CREATE FULLTEXT INDEX " + KB_FULLTEXT_INDEX + " IF NOT EXISTS " +
+                    "FOR (k:KnowledgeBase) ON EACH [k.title, k.content]",
+            "CREATE FULLTEXT INDEX " + USER_FULLTEXT_INDEX + " IF NOT EXISTS " +
+                    "FOR (u:User) ON EACH [u.username, u.fullName, u.email]",
+            // Range indexes backing TicketCriteria filters and the (createdAt, id) ordering
+            "CREATE INDEX ticket_status_index IF NOT EXISTS FOR (t:Ticket) ON (t.status)",
+            "CREATE INDEX ticket_priority_index IF NOT EXISTS FOR (t:Ticket) ON (t.priority)",
+            "CREATE INDEX ticket_assigned_to_index IF NOT EXISTS FOR (t:Ticket) ON (t.assignedTo)",
+            "CREATE INDEX ticket_category_index IF NOT EXISTS FOR (t:Ticket) ON (t.category)",
+            "CREATE INDEX ticket_created_at_index IF NOT EXISTS FOR (t:Ticket) ON (t.createdAt)",
+            "CREATE INDEX ticket_updated_at_index IF NOT EXISTS FOR (t:Ticket) ON (t.updatedAt)",
+            "CREATE INDEX ticket_resolved_at_index IF NOT EXISTS FOR (t:Ticket) ON (t.resolvedAt)",
+            // Filtered ticket pages: equality on the filter, ordered by createdAt
+            "CREATE INDEX ticket_status_created_at_index IF NOT EXISTS FOR (t:Ticket) ON (t.status, t.createdAt)",
+            "CREATE INDEX ticket_priority_created_at_index IF NOT EXISTS FOR (t:Ticket) ON (t.priority, t.createdAt)",
+            // Time-window queries, effective once timestamps are native datetimes (see TemporalMigration)
+            "CREATE INDEX audit_timestamp_index IF NOT EXISTS FOR (a:AuditLog) ON (a.timestamp)",
+            "CREATE INDEX metric_timestamp_index IF NOT EXISTS FOR (m:Metric) ON (m.timestamp)",
+            "CREATE INDEX metric_type_timestamp_index IF NOT EXISTS FOR (m:Metric) ON (m.metricType, m.timestamp)",
+            "CREATE INDEX notification_user_created_at_index IF NOT EXISTS " +
+                    "FOR (n:Notification) ON (n.userId, n.createdAt)");
+
+    private final Neo4jConnection connection;
+
+    public SchemaInitializer(Neo4jConnection connection) {
+        this.connection = connection;
+    }
+
+    public void initialize() {
+        int applied = 0;
+        for (String statement : STATEMENTS) {
+            try (Session session = connection.getSession()) {
+                session.run(statement).consume();
+                applied++;
+            } catch (Exception e) {
+                System.err.println("❌ Error applying schema statement: " + e.getMessage());
+            }
+        }
+
+        // Full-text queries fail while an index is still populating
+        try (Session session = connection.getSession()) {
+            session.run("CALL db.awaitIndexes(" + INDEX_WAIT_SECONDS + ")").consume();
+        } catch (Exception e) {
+            System.err.println("❌ Indexes not online yet: " + e.getMessage());
+        }
+
+        System.out.println("✅ Schema initialized (" + applied + "/" + STATEMENTS.size() + " statements)");
+    }
+}
@@ -1,23 +1,28 @@
 package org.example.repository;
 
 import org.example.model.Team;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class TeamRepository {
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
     private final Driver driver;
+    private final QueryCache<String, List<Team>> cache = new QueryCache<>("teams", CACHE_TTL, 1);
 
-    public TeamRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public TeamRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public Team save(Team team) {
         try (Session session = driver.session()) {
             String query = "MERGE (t:Team {id: $id}) " +
                     "SET t.name = $name, t.description = $description, t.leadId = $leadId, " +
-                    "t.department = $department, t.active = $active, t.createdAt = $createdAt, " +
+                    "t.department = $department, t.active = $active, t.createdAt = datetime($createdAt), " +
                     "t.maxCapacity = $maxCapacity RETURN t";
 
             session.run(query, parameters(
@@ -31,6 +36,8 @@ public class TeamRepository {
                     team.getCreatedAt() != null ? team.getCreatedAt().toString() : LocalDateTime.now().toString(),
                     "maxCapacity", team.getMaxCapacity()));
             return team;
+        } finally {
+            cache.invalidateAll();
         }
     }
 
@@ -46,6 +53,10 @@ public class TeamRepository {
     }
 
     public List<Team> findAll() {
+        return cache.get("all", key -> Collections.unmodifiableList(loadAll()));
+    }
+
+    private List<Team> loadAll() {
         try (Session session = driver.session()) {
             String query = "MATCH (t:Team) RETURN t ORDER BY t.name";
             Result result = session.run(query);
@@ -60,9 +71,15 @@ public class TeamRepository {
     public void delete(String id) {
         try (Session session = driver.session()) {
             session.run("MATCH (t:Team {id: $id}) DETACH DELETE t", parameters("id", id));
+        } finally {
+            cache.invalidateAll();
         }
     }
 
+    public QueryCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
     private Team mapToTeam(Map<String, Object> map) {
         Team team = new Team();
         team.setId((String) map.get("id"));
@@ -73,7 +90,7 @@ public class TeamRepository {
         team.setActive(map.get("active") != null ? (Boolean) map.get("active") : true);
         team.setMaxCapacity(map.get("maxCapacity") != null ? ((Long) map.get("maxCapacity")).intValue() : 10);
         if (map.get("createdAt") != null) {
-            team.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            team.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return team;
     }
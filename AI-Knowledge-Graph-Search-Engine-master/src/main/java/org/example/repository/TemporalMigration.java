@@ -0,0 +1,83 @@
+package org.example.repository;
+
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+
+import java.util.List;
+
+/**
+ * One-off migration that rewrites timestamps stored as ISO strings into native
+ * datetime values, so range predicates can use the indexes created by
+ * {@link SchemaInitializer}. Only string values are touched, so it is safe to
+ * run again. Run with the main method against the configured database.
+ */
+public class TemporalMigration {
+
+    // Label and property of every timestamp that used to be written as a string
+    private static final List<String[]> PROPERTIES = List.of(
+            new String[] { "User", "createdAt" },
+            new String[] { "KnowledgeBase", "createdAt" },
+            new String[] { "Category", "createdAt" },
+            new String[] { "Comment", "createdAt" },
+            new String[] { "Team", "createdAt" },
+            new String[] { "SLA", "createdAt" },
+            new String[] { "Workflow", "createdAt" },
+            new String[] { "AuditLog", "timestamp" },
+            new String[] { "Metric", "timestamp" },
+            new String[] { "Notification", "createdAt" },
+            new String[] { "Notification", "readAt" });
+
+    // LocalDateTime.toString() output; non-string values never match a regex
+    private static final String ISO_LOCAL_DATE_TIME = "\\d{4}-\\d{2}-\\d{2}T.*";
+    private static final int BATCH_SIZE = 5000;
+
+    private final Neo4jConnection connection;
+
+    public TemporalMigration(Neo4jConnection connection) {
+        this.connection = connection;
+    }
+
+    // Returns the number of properties converted
+    public long migrate() {
+        long converted = 0;
+        for (String[] property : PROPERTIES) {
+            converted += migrate(property[0], property[1]);
+        }
+        System.out.println("✅ Temporal migration finished: " + converted + " values converted");
+        return converted;
+    }
+
+    private long migrate(String label, String property) {
+        // Labels and properties come from the fixed list above, never from input
+        String query = """
+                MATCH (n:%1$s) WHERE n.%2$s =~ $pattern
+                CALL { WITH n SET n.%2$s = datetime(n.%2$s) } IN TRANSACTIONS OF %3$d ROWS
+                """.formatted(label, property, BATCH_SIZE);
+
+        // CALL ... IN TRANSACTIONS needs an auto-commit transaction
+        try (Session session = connection.getSession()) {
+            int converted = session.run(query, Values.parameters("pattern", ISO_LOCAL_DATE_TIME))
+                    .consume().counters().propertiesSet();
+            if (converted > 0) {
+                System.out.println("✅ " + label + "." + property + ": " + converted + " converted");
+            }
+            return converted;
+        } catch (Exception e) {
+            System.err.println("❌ Error migrating " + label + "." + property + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        Neo4jConnection connection = Neo4jConnection.getInstance();
+        try {
+            if (!connection.testConnection()) {
+                return;
+            }
+            new TemporalMigration(connection).migrate();
+            new SchemaInitializer(connection).initialize();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.repository;
+
+import org.example.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Records ticket changes in arrival order so a view that rebuilds from a
+ * database snapshot can replay the writes made while the snapshot was read.
+ * Not thread-safe; the owning view records and replays under its own lock.
+ */
+public class TicketChangeJournal implements TicketChangeListener {
+    private final List<Consumer<TicketChangeListener>> changes = new ArrayList<>();
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        changes.add(listener -> listener.ticketCreated(ticket));
+    }
+
+    @Override
+    public void ticketUpdated(Ticket ticket) {
+        changes.add(listener -> listener.ticketUpdated(ticket));
+    }
+
+    @Override
+    public void ticketDeleted(String ticketId) {
+        changes.add(listener -> listener.ticketDeleted(ticketId));
+    }
+
+    public void replay(TicketChangeListener target) {
+        for (Consumer<TicketChangeListener> change : changes) {
+            change.accept(target);
+        }
+    }
+
+    public int size() {
+        return changes.size();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.repository;
+
+import org.example.model.Ticket;
+
+/**
+ * Callback for components that keep derived state (search indexes, caches) in
+ * sync with ticket writes made through {@link TicketRepository}.
+ */
+public interface TicketChangeListener {
+
+    default void ticketCreated(Ticket ticket) {
+    }
+
+    default void ticketUpdated(Ticket ticket) {
+    }
+
+    default void ticketDeleted(String ticketId) {
+    }
+}
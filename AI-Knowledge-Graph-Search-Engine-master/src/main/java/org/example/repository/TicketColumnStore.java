@@ -0,0 +1,375 @@
+package org.example.repository;
+
+import org.example.model.Ticket;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the ticket fields reports aggregate on, held off-heap
+ * in direct buffers. Status, priority and category are dictionary-encoded to
+ * one byte per ticket and timestamps are epoch millis (UTC), so a report scans
+ * a few contiguous arrays instead of materializing Ticket objects. Kept current
+ * as a {@link TicketChangeListener}; deletes leave a tombstone that is
+ * compacted away once half the rows are dead.
+ */
+public class TicketColumnStore implements TicketChangeListener {
+
+    public enum Column {
+        STATUS, PRIORITY, CATEGORY
+    }
+
+    // Dictionary codes: 0 is a missing value, 254 collects values past the dictionary size
+    private static final int NULL_CODE = 0;
+    private static final int OVERFLOW_CODE = 254;
+    // Status code of a deleted row
+    private static final int TOMBSTONE = 255;
+    private static final String NULL_VALUE = "UNKNOWN";
+    private static final String OVERFLOW_VALUE = "OTHER";
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int COMPACT_MIN_ROWS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Dictionary statuses = new Dictionary();
+    private Dictionary priorities = new Dictionary();
+    private Dictionary categories = new Dictionary();
+    private Map<String, Integer> rowsById = new HashMap<>();
+    private List<String> idsByRow = new ArrayList<>();
+
+    private ByteBuffer status;
+    private ByteBuffer priority;
+    private ByteBuffer category;
+    private ByteBuffer createdAt;
+    private ByteBuffer resolvedAt;
+    private int capacity;
+    private int rows;
+    private int deleted;
+    // Writes seen while a rebuild reads its snapshot, replayed once it is swapped in
+    private TicketChangeJournal journal;
+    private volatile boolean loaded;
+
+    public TicketColumnStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the whole store content. The tickets are loaded into fresh
+     * buffers without holding the lock, so ticket writes are not blocked by a
+     * slow database cursor; writes that arrive meanwhile are replayed on the
+     * new buffers once they are swapped in.
+     */
+    public synchronized void rebuild(Iterable<Ticket> tickets) {
+        TicketChangeJournal changes = new TicketChangeJournal();
+        lock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TicketColumnStore fresh = new TicketColumnStore();
+        try {
+            for (Ticket ticket : tickets) {
+                if (ticket != null && ticket.getId() != null) {
+                    fresh.upsert(ticket);
+                }
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            statuses = fresh.statuses;
+            priorities = fresh.priorities;
+            categories = fresh.categories;
+            rowsById = fresh.rowsById;
+            idsByRow = fresh.idsByRow;
+            status = fresh.status;
+            priority = fresh.priority;
+            category = fresh.category;
+            createdAt = fresh.createdAt;
+            resolvedAt = fresh.resolvedAt;
+            capacity = fresh.capacity;
+            rows = fresh.rows;
+            deleted = fresh.deleted;
+            changes.replay(this);
+            loaded = true;
+            System.out.println("✅ Ticket column store built: " + rowsById.size() + " tickets, "
+                    + (capacity * 19L / 1024) + " KB off-heap");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        write(ticket);
+    }
+
+    @Override
+    public void ticketUpdated(Ticket ticket) {
+        write(ticket);
+    }
+
+    @Override
+    public void ticketDeleted(String ticketId) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.ticketDeleted(ticketId);
+            }
+            Integer row = rowsById.remove(ticketId);
+            if (row != null) {
+                status.put(row, (byte) TOMBSTONE);
+                idsByRow.set(row, null);
+                deleted++;
+                if (rows >= COMPACT_MIN_ROWS && deleted * 2 > rows) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts tickets per value of a column among tickets created in [from, to).
+     * Null bounds are open. Missing values are reported as UNKNOWN.
+     */
+    public Map<String, Long> countBy(Column column, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = from == null ? Long.MIN_VALUE : toMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : toMillis(to);
+
+        long[] counts = new long[256];
+        Dictionary dictionary;
+        lock.readLock().lock();
+        try {
+            ByteBuffer codes = switch (column) {
+                case STATUS -> status;
+                case PRIORITY -> priority;
+                case CATEGORY -> category;
+            };
+            dictionary = switch (column) {
+                case STATUS -> statuses;
+                case PRIORITY -> priorities;
+                case CATEGORY -> categories;
+            };
+            for (int row = 0; row < rows; row++) {
+                long created = createdAt.getLong(row << 3);
+                if (created >= fromMillis && created < toMillis && status.get(row) != (byte) TOMBSTONE) {
+                    counts[codes.get(row) & 0xFF]++;
+                }
+            }
+            return dictionary.decode(counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(LocalDateTime from, LocalDateTime to) {
+        long total = 0;
+        for (long count : countBy(Column.STATUS, from, to).values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Mean minutes from creation to resolution (last update for tickets
+     * resolved before resolvedAt was recorded) of tickets with the given
+     * status created in [from, to), the same measure the dashboard uses for
+     * resolution time. Zero when there are none.
+     */
+    public double averageMinutesToResolve(String statusValue, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = from == null ? Long.MIN_VALUE : toMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : toMillis(to);
+
+        lock.readLock().lock();
+        try {
+            int code = statuses.codeOf(statusValue);
+            if (code < 0) {
+                return 0.0;
+            }
+            byte wanted = (byte) code;
+            long totalMillis = 0;
+            long count = 0;
+            for (int row = 0; row < rows; row++) {
+                long created = createdAt.getLong(row << 3);
+                long updated = resolvedAt.getLong(row << 3);
+                if (status.get(row) == wanted && created >= fromMillis && created < toMillis
+                        && created != NO_TIME && updated != NO_TIME) {
+                    totalMillis += updated - created;
+                    count++;
+                }
+            }
+            return count == 0 ? 0.0 : totalMillis / 60_000.0 / count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Ticket ticket) {
+        if (ticket == null || ticket.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.ticketUpdated(ticket);
+            }
+            upsert(ticket);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void upsert(Ticket ticket) {
+        Integer existing = rowsById.get(ticket.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (rows == capacity) {
+                grow(capacity * 2);
+            }
+            row = rows++;
+            rowsById.put(ticket.getId(), row);
+            idsByRow.add(ticket.getId());
+        }
+        status.put(row, (byte) statuses.encode(ticket.getStatus()));
+        priority.put(row, (byte) priorities.encode(ticket.getPriority()));
+        category.put(row, (byte) categories.encode(ticket.getCategory()));
+        createdAt.putLong(row << 3, toMillis(ticket.getCreatedAt()));
+        // Tickets resolved before resolvedAt was recorded fall back to their last update
+        LocalDateTime resolved = ticket.getResolvedAt() != null ? ticket.getResolvedAt() : ticket.getUpdatedAt();
+        resolvedAt.putLong(row << 3, toMillis(resolved));
+    }
+
+    // Slides live rows down over tombstones, caller holds the write lock
+    private void compact() {
+        int live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (status.get(row) == (byte) TOMBSTONE) {
+                continue;
+            }
+            if (live != row) {
+                status.put(live, status.get(row));
+                priority.put(live, priority.get(row));
+                category.put(live, category.get(row));
+                createdAt.putLong(live << 3, createdAt.getLong(row << 3));
+                resolvedAt.putLong(live << 3, resolvedAt.getLong(row << 3));
+                String id = idsByRow.get(row);
+                idsByRow.set(live, id);
+                rowsById.put(id, live);
+            }
+            live++;
+        }
+        idsByRow.subList(live, rows).clear();
+        rows = live;
+        deleted = 0;
+    }
+
+    private void allocate(int newCapacity) {
+        status = direct(newCapacity);
+        priority = direct(newCapacity);
+        category = direct(newCapacity);
+        createdAt = direct(newCapacity * 8);
+        resolvedAt = direct(newCapacity * 8);
+        capacity = newCapacity;
+    }
+
+    private void grow(int newCapacity) {
+        ByteBuffer oldStatus = status;
+        ByteBuffer oldPriority = priority;
+        ByteBuffer oldCategory = category;
+        ByteBuffer oldCreatedAt = createdAt;
+        ByteBuffer oldResolvedAt = resolvedAt;
+        allocate(newCapacity);
+        status.put(0, oldStatus, 0, rows);
+        priority.put(0, oldPriority, 0, rows);
+        category.put(0, oldCategory, 0, rows);
+        createdAt.put(0, oldCreatedAt, 0, rows * 8);
+        resolvedAt.put(0, oldResolvedAt, 0, rows * 8);
+    }
+
+    private static ByteBuffer direct(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        Dictionary() {
+            values.add(NULL_VALUE);
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() == OVERFLOW_CODE) {
+                return OVERFLOW_CODE;
+            }
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+            return code;
+        }
+
+        int codeOf(String value) {
+            return value == null ? NULL_CODE : codes.getOrDefault(value, -1);
+        }
+
+        Map<String, Long> decode(long[] counts) {
+            Map<String, Long> decoded = new LinkedHashMap<>();
+            for (int code = 0; code < values.size(); code++) {
+                if (counts[code] > 0) {
+                    decoded.merge(values.get(code), counts[code], Long::sum);
+                }
+            }
+            if (counts[OVERFLOW_CODE] > 0) {
+                decoded.put(OVERFLOW_VALUE, counts[OVERFLOW_CODE]);
+            }
+            return decoded;
+        }
+    }
+}
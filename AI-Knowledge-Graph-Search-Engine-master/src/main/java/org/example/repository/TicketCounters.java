@@ -0,0 +1,200 @@
+package org.example.repository;
+
+import org.example.model.DashboardSnapshot;
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory ticket counts keyed by status x priority x category, kept current
+ * by {@link TicketRepository} writes so dashboard reads never touch the
+ * database. Writes that bypass the repository make the counters drift;
+ * {@link #reconcile(Supplier)} repairs that from a full count.
+ */
+public class TicketCounters {
+
+    // Values are coalesced to UNKNOWN so a missing property still has a cell
+    public record Cell(String status, String priority, String category) {
+    }
+
+    // Resolution minutes are only tallied for RESOLVED tickets with both timestamps
+    public record Tally(long tickets, long resolutionMinutes, long timedResolutions) {
+        public static final Tally ZERO = new Tally(0, 0, 0);
+
+        public static Tally of(Long resolutionMinutes) {
+            return resolutionMinutes == null ? new Tally(1, 0, 0) : new Tally(1, resolutionMinutes, 1);
+        }
+
+        Tally minus(Tally other) {
+            return new Tally(tickets - other.tickets, resolutionMinutes - other.resolutionMinutes,
+                    timedResolutions - other.timedResolutions);
+        }
+    }
+
+    private static final class Adders {
+        final LongAdder tickets = new LongAdder();
+        final LongAdder resolutionMinutes = new LongAdder();
+        final LongAdder timedResolutions = new LongAdder();
+
+        void add(Tally tally, int sign) {
+            tickets.add(sign * tally.tickets());
+            resolutionMinutes.add(sign * tally.resolutionMinutes());
+            timedResolutions.add(sign * tally.timedResolutions());
+        }
+
+        Tally sum() {
+            return new Tally(tickets.sum(), resolutionMinutes.sum(), timedResolutions.sum());
+        }
+    }
+
+    private final Map<Cell, Adders> cells = new ConcurrentHashMap<>();
+    private final LongAdder writesSinceReconcile = new LongAdder();
+    private final Object reconcileLock = new Object();
+    // Shared by counter updates, exclusive while reconcile snapshots and corrects, so it never sees half an update
+    private final ReentrantReadWriteLock applyLock = new ReentrantReadWriteLock();
+    private volatile boolean reconciled;
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile long lastDrift;
+
+    public void add(Cell cell, Tally tally) {
+        apply(cell, tally, 1);
+    }
+
+    public void remove(Cell cell, Tally tally) {
+        apply(cell, tally, -1);
+    }
+
+    // An update: the ticket leaves one cell and enters another as a single step
+    public void move(Cell from, Tally fromTally, Cell to, Tally toTally) {
+        applyLock.readLock().lock();
+        try {
+            cells.computeIfAbsent(from, c -> new Adders()).add(fromTally, -1);
+            cells.computeIfAbsent(to, c -> new Adders()).add(toTally, 1);
+            writesSinceReconcile.increment();
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    private void apply(Cell cell, Tally tally, int sign) {
+        applyLock.readLock().lock();
+        try {
+            cells.computeIfAbsent(cell, c -> new Adders()).add(tally, sign);
+            writesSinceReconcile.increment();
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the counters with a full count. The correction is taken
+     * against the counters as they stand once the count has finished, so a
+     * write applied while the count ran is treated as seen by it and ends up
+     * counted exactly once. Writes applied after that snapshot are kept on top
+     * of the correction. A write that commits too late for the count to see it
+     * is dropped here and restored by the next reconcile. Returns the drift
+     * found: the number of tickets the counters had misplaced.
+     */
+    public long reconcile(Supplier<Map<Cell, Tally>> fullCount) {
+        synchronized (reconcileLock) {
+            long writesBefore = writesSinceReconcile.sum();
+            Map<Cell, Tally> counted = fullCount.get();
+
+            long drift = 0;
+            applyLock.writeLock().lock();
+            try {
+                Map<Cell, Tally> live = tallies();
+                Set<Cell> keys = new HashSet<>(live.keySet());
+                keys.addAll(counted.keySet());
+                for (Cell cell : keys) {
+                    Tally correction = counted.getOrDefault(cell, Tally.ZERO)
+                            .minus(live.getOrDefault(cell, Tally.ZERO));
+                    if (!correction.equals(Tally.ZERO)) {
+                        cells.computeIfAbsent(cell, c -> new Adders()).add(correction, 1);
+                    }
+                    drift += Math.abs(correction.tickets());
+                }
+            } finally {
+                applyLock.writeLock().unlock();
+            }
+            // A first load from empty counters is not drift
+            lastDrift = reconciled ? drift : 0;
+
+            writesSinceReconcile.add(-writesBefore);
+            lastReconciledAt = LocalDateTime.now();
+            reconciled = true;
+            return lastDrift;
+        }
+    }
+
+    // False until the first reconcile, the counters are meaningless before that
+    public boolean isReconciled() {
+        return reconciled;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    // Tickets misplaced at the last reconcile
+    public long getLastDrift() {
+        return lastDrift;
+    }
+
+    // Repository writes applied since the last reconcile, i.e. how much could have drifted since
+    public long getWritesSinceReconcile() {
+        return writesSinceReconcile.sum();
+    }
+
+    public DashboardSnapshot snapshot() {
+        return snapshot(tallies());
+    }
+
+    public static DashboardSnapshot snapshot(Map<Cell, Tally> tallies) {
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byPriority = new HashMap<>();
+        Map<String, Long> byCategory = new HashMap<>();
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority.name(), 0L);
+        }
+
+        long total = 0;
+        long resolutionMinutes = 0;
+        long timedResolutions = 0;
+        for (Map.Entry<Cell, Tally> entry : tallies.entrySet()) {
+            Cell cell = entry.getKey();
+            Tally tally = entry.getValue();
+            if (tally.tickets() == 0) {
+                continue;
+            }
+            total += tally.tickets();
+            resolutionMinutes += tally.resolutionMinutes();
+            timedResolutions += tally.timedResolutions();
+            byStatus.merge(cell.status(), tally.tickets(), Long::sum);
+            byPriority.merge(cell.priority(), tally.tickets(), Long::sum);
+            byCategory.merge(cell.category(), tally.tickets(), Long::sum);
+        }
+
+        double averageResolutionMinutes = timedResolutions > 0 ? (double) resolutionMinutes / timedResolutions : 0.0;
+        return new DashboardSnapshot(total, byStatus, byPriority, byCategory, timedResolutions,
+                averageResolutionMinutes);
+    }
+
+    private Map<Cell, Tally> tallies() {
+        Map<Cell, Tally> tallies = new HashMap<>();
+        cells.forEach((cell, adders) -> tallies.put(cell, adders.sum()));
+        return tallies;
+    }
+}
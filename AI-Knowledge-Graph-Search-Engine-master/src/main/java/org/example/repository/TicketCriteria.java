@@ -0,0 +1,275 @@
+package org.example.repository;
+
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typed ticket filter that compiles to a single parameterized Cypher query.
+ * Query text only depends on which criteria are set, so compiled statements are
+ * cached per combination and the server can reuse its cached plans.
+ */
+public class TicketCriteria {
+    public static final int DEFAULT_LIMIT = 500;
+    // Limit that returns every match, for callers that predate the default cap
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    // Bit flags identifying which criteria are present
+    private static final int STATUS = 1;
+    private static final int PRIORITY = 1 << 1;
+    private static final int ASSIGNEE = 1 << 2;
+    private static final int CATEGORY = 1 << 3;
+    private static final int CREATED_FROM = 1 << 4;
+    private static final int CREATED_TO = 1 << 5;
+    private static final int TEXT = 1 << 6;
+    private static final int AFTER = 1 << 7;
+
+    private static final Map<Integer, String> PLAN_CACHE = new ConcurrentHashMap<>();
+
+    private final TicketStatus status;
+    private final Priority priority;
+    private final String assignedTo;
+    private final String category;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+    private final String text;
+    private final LocalDateTime afterCreatedAt;
+    private final String afterId;
+    private final int skip;
+    private final int limit;
+
+    private TicketCriteria(Builder builder) {
+        this.status = builder.status;
+        this.priority = builder.priority;
+        this.assignedTo = builder.assignedTo;
+        this.category = builder.category;
+        this.createdFrom = builder.createdFrom;
+        this.createdTo = builder.createdTo;
+        this.text = builder.text;
+        this.afterCreatedAt = builder.afterCreatedAt;
+        this.afterId = builder.afterId;
+        this.skip = builder.skip;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Builder preset with these criteria, to derive a variant such as the next page
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.status = status;
+        builder.priority = priority;
+        builder.assignedTo = assignedTo;
+        builder.category = category;
+        builder.createdFrom = createdFrom;
+        builder.createdTo = createdTo;
+        builder.text = text;
+        builder.afterCreatedAt = afterCreatedAt;
+        builder.afterId = afterId;
+        builder.skip = skip;
+        builder.limit = limit;
+        return builder;
+    }
+
+    public TicketStatus getStatus() {
+        return status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public String toCypher() {
+        return PLAN_CACHE.computeIfAbsent(shape(), TicketCriteria::compile);
+    }
+
+    public Map<String, Object> toParameters() {
+        Map<String, Object> params = new HashMap<>();
+        if (status != null)
+            params.put("status", spellings(status));
+        if (priority != null)
+            params.put("priority", spellings(priority));
+        if (assignedTo != null)
+            params.put("assignedTo", assignedTo);
+        if (category != null)
+            params.put("category", category);
+        if (createdFrom != null)
+            params.put("createdFrom", createdFrom.toString());
+        if (createdTo != null)
+            params.put("createdTo", createdTo.toString());
+        if (text != null) {
+            params.put("index", SchemaInitializer.TICKET_FULLTEXT_INDEX);
+            params.put("text", FullTextQueries.toLuceneQuery(text));
+        }
+        if (afterId != null) {
+            params.put("afterCreatedAt", afterCreatedAt.toString());
+            params.put("afterId", afterId);
+        }
+        params.put("skip", skip);
+        params.put("limit", limit);
+        return params;
+    }
+
+    private int shape() {
+        int shape = 0;
+        if (status != null)
+            shape |= STATUS;
+        if (priority != null)
+            shape |= PRIORITY;
+        if (assignedTo != null)
+            shape |= ASSIGNEE;
+        if (category != null)
+            shape |= CATEGORY;
+        if (createdFrom != null)
+            shape |= CREATED_FROM;
+        if (createdTo != null)
+            shape |= CREATED_TO;
+        if (text != null)
+            shape |= TEXT;
+        if (afterId != null)
+            shape |= AFTER;
+        return shape;
+    }
+
+    private static String compile(int shape) {
+        StringBuilder query = new StringBuilder();
+        if ((shape & TEXT) != 0) {
+            query.append("CALL db.index.fulltext.queryNodes($index, $text) YIELD node AS t\n");
+        } else {
+            query.append("MATCH (t:Ticket)\n");
+        }
+
+        StringBuilder where = new StringBuilder();
+        appendCondition(where, shape, STATUS, "t.status IN $status");
+        appendCondition(where, shape, PRIORITY, "t.priority IN $priority");
+        appendCondition(where, shape, ASSIGNEE, "t.assignedTo = $assignedTo");
+        appendCondition(where, shape, CATEGORY, "t.category = $category");
+        appendCondition(where, shape, CREATED_FROM, "t.createdAt >= datetime($createdFrom)");
+        appendCondition(where, shape, CREATED_TO, "t.createdAt < datetime($createdTo)");
+        appendCondition(where, shape, AFTER, "(t.createdAt < datetime($afterCreatedAt)"
+                + " OR (t.createdAt = datetime($afterCreatedAt) AND t.id < $afterId))");
+        if (where.length() > 0) {
+            query.append("WHERE ").append(where).append('\n');
+        }
+
+        query.append("RETURN t\n")
+                .append("ORDER BY t.createdAt DESC, t.id DESC\n")
+                .append("SKIP $skip\n")
+                .append("LIMIT $limit");
+        return query.toString();
+    }
+
+    // Enum name and the display name older rows were stored with: IN_PROGRESS, "In Progress"
+    private static List<String> spellings(Enum<?> value) {
+        StringBuilder display = new StringBuilder();
+        for (String word : value.name().split("_")) {
+            if (display.length() > 0) {
+                display.append(' ');
+            }
+            display.append(word.charAt(0)).append(word.substring(1).toLowerCase(Locale.ROOT));
+        }
+        return List.of(value.name(), display.toString());
+    }
+
+    private static void appendCondition(StringBuilder where, int shape, int flag, String condition) {
+        if ((shape & flag) == 0) {
+            return;
+        }
+        if (where.length() > 0) {
+            where.append(" AND ");
+        }
+        where.append(condition);
+    }
+
+    public static class Builder {
+        private TicketStatus status;
+        private Priority priority;
+        private String assignedTo;
+        private String category;
+        private LocalDateTime createdFrom;
+        private LocalDateTime createdTo;
+        private String text;
+        private LocalDateTime afterCreatedAt;
+        private String afterId;
+        private int skip = 0;
+        private int limit = DEFAULT_LIMIT;
+
+        public Builder status(TicketStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder priority(Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder assignedTo(String assignedTo) {
+            this.assignedTo = blankToNull(assignedTo);
+            return this;
+        }
+
+        public Builder category(String category) {
+            this.category = blankToNull(category);
+            return this;
+        }
+
+        // Inclusive lower bound on createdAt
+        public Builder createdFrom(LocalDateTime createdFrom) {
+            this.createdFrom = createdFrom;
+            return this;
+        }
+
+        // Exclusive upper bound on createdAt
+        public Builder createdTo(LocalDateTime createdTo) {
+            this.createdTo = createdTo;
+            return this;
+        }
+
+        // Full-text match on title and description
+        public Builder text(String text) {
+            this.text = FullTextQueries.toLuceneQuery(text) != null ? text.trim() : null;
+            return this;
+        }
+
+        /**
+         * Keyset position: only tickets after this one in the (createdAt, id)
+         * newest-first order. Use instead of skip for deep pages.
+         */
+        public Builder after(LocalDateTime createdAt, String id) {
+            this.afterCreatedAt = id == null ? null : createdAt;
+            this.afterId = createdAt == null ? null : id;
+            return this;
+        }
+
+        public Builder skip(int skip) {
+            this.skip = Math.max(0, skip);
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = Math.max(1, limit);
+            return this;
+        }
+
+        public TicketCriteria build() {
+            return new TicketCriteria(this);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+}
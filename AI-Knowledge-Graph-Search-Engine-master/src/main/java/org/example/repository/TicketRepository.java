@@ -1,21 +1,103 @@
 package org.example.repository;
 
+import org.example.model.DailyTicketCount;
+import org.example.model.DashboardSnapshot;
 import org.example.model.Ticket;
+import org.example.model.TicketPage;
+import org.example.search.MinHash;
+import org.example.util.DateUtils;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.Value;
 import org.neo4j.driver.Values;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class TicketRepository {
+    // Shared across repository instances so every write path notifies the same listeners
+    private static final Set<TicketChangeListener> LISTENERS = new CopyOnWriteArraySet<>();
+
+    private static final int DEFAULT_SEARCH_LIMIT = 100;
+    // Largest keyset page, so an unlimited criteria (NO_LIMIT) pages instead of overflowing limit + 1
+    static final int MAX_PAGE_SIZE = 10_000;
+
+    // Queries shared with AsyncTicketRepository
+    static final String FIRST_PAGE_QUERY = """
+            MATCH (t:Ticket)
+            RETURN t
+            ORDER BY t.createdAt DESC, t.id DESC
+            LIMIT $limit
+            """;
+    static final String NEXT_PAGE_QUERY = """
+            MATCH (t:Ticket)
+            WHERE t.createdAt < datetime($createdAt)
+               OR (t.createdAt = datetime($createdAt) AND t.id < $id)
+            RETURN t
+            ORDER BY t.createdAt DESC, t.id DESC
+            LIMIT $limit
+            """;
+    static final String COUNT_QUERY = "MATCH (t:Ticket) RETURN count(t) as count";
+    static final String COUNT_BY_STATUS_QUERY = "MATCH (t:Ticket {status: $status}) RETURN count(t) as count";
+    static final String COUNT_BY_DAY_QUERY = """
+            CALL {
+                MATCH (t:Ticket)
+                WHERE t.createdAt >= datetime($from) AND t.createdAt < datetime($to)
+                RETURN date.truncate('day', t.createdAt) AS day, 1 AS created, 0 AS resolved
+                UNION ALL
+                MATCH (t:Ticket)
+                WHERE t.resolvedAt >= datetime($from) AND t.resolvedAt < datetime($to)
+                  AND t.status = 'RESOLVED'
+                RETURN date.truncate('day', t.resolvedAt) AS day, 0 AS created, 1 AS resolved
+                UNION ALL
+                // Tickets resolved before resolvedAt was recorded fall back to their last update
+                MATCH (t:Ticket)
+                WHERE t.updatedAt >= datetime($from) AND t.updatedAt < datetime($to)
+                  AND t.status = 'RESOLVED' AND t.resolvedAt IS NULL
+                RETURN date.truncate('day', t.updatedAt) AS day, 0 AS created, 1 AS resolved
+            }
+            RETURN day, sum(created) AS created, sum(resolved) AS resolved
+            ORDER BY day
+            """;
+
+    // Counter cell of the ticket bound to t, as a map. Status and priority are
+    // normalised to enum names, older rows may hold display names ("In Progress")
+    private static final String CELL = """
+            {status: toUpper(replace(coalesce(t.status, 'UNKNOWN'), ' ', '_')),
+             priority: toUpper(coalesce(t.priority, 'UNKNOWN')),
+             category: coalesce(t.category, 'UNKNOWN'),
+             resolutionMinutes: CASE WHEN toUpper(t.status) = 'RESOLVED' AND t.createdAt IS NOT NULL
+                                          AND coalesce(t.resolvedAt, t.updatedAt) IS NOT NULL
+                                     THEN duration.inSeconds(t.createdAt, coalesce(t.resolvedAt, t.updatedAt)).minutes END}""";
+
     private final Neo4jConnection connection;
+    private final TicketCounters counters;
 
-    public TicketRepository() {
-        this.connection = Neo4jConnection.getInstance();
+    public TicketRepository(Neo4jConnection connection, TicketCounters counters) {
+        this.connection = connection;
+        this.counters = counters;
+    }
+
+    public static void addChangeListener(TicketChangeListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeChangeListener(TicketChangeListener listener) {
+        LISTENERS.remove(listener);
     }
 
     // Create a new ticket
@@ -35,13 +117,15 @@ public class TicketRepository {
                     assignedTo: $assignedTo,
                     createdBy: $createdBy,
                     createdAt: datetime($createdAt),
-                    updatedAt: datetime($updatedAt)
+                    updatedAt: datetime($updatedAt),
+                    resolvedAt: datetime(coalesce($resolvedAt, CASE WHEN $status = 'RESOLVED' THEN $updatedAt END)),
+                    minhash: $minhash
                 })
-                RETURN t
-                """;
+                RETURN %s AS cell
+                """.formatted(CELL);
 
         try (Session session = connection.getSession()) {
-            session.run(query,
+            Record record = session.run(query,
                     Values.parameters(
                             "id", ticket.getId(),
                             "title", ticket.getTitle(),
@@ -52,8 +136,13 @@ public class TicketRepository {
                             "assignedTo", ticket.getAssignedTo(),
                             "createdBy", ticket.getCreatedBy(),
                             "createdAt", ticket.getCreatedAt().toString(),
-                            "updatedAt", ticket.getUpdatedAt().toString()));
+                            "updatedAt", ticket.getUpdatedAt().toString(),
+                            "resolvedAt", ticket.getResolvedAt() != null ? ticket.getResolvedAt().toString() : null,
+                            "minhash", refreshMinHash(ticket))).single();
+            Value cell = record.get("cell");
+            counters.add(toCell(cell), toTally(cell));
             System.out.println("✅ Ticket created: " + ticket.getId());
+            notifyListeners(listener -> listener.ticketCreated(ticket));
             return ticket;
         } catch (Exception e) {
             System.err.println("❌ Error creating ticket: " + e.getMessage());
@@ -62,7 +151,7 @@ public class TicketRepository {
         }
     }
 
-    // Get all tickets
+    // Get all tickets. Loads the whole label into memory, prefer findPage or streamAll
     public List<Ticket> findAll() {
         String query = "MATCH (t:Ticket) RETURN t ORDER BY t.createdAt DESC";
         List<Ticket> tickets = new ArrayList<>();
@@ -82,6 +171,111 @@ public class TicketRepository {
         return tickets;
     }
 
+    /**
+     * Keyset pagination ordered by (createdAt, id), newest first. Pass null as
+     * the cursor for the first page and the returned cursor for the next ones.
+     */
+    public TicketPage findPage(String cursor, int limit) {
+        List<Ticket> tickets = new ArrayList<>();
+        try (Session session = connection.getSession()) {
+            Result result = session.run(pageQuery(cursor), pageParameters(cursor, limit));
+            while (result.hasNext()) {
+                tickets.add(mapToTicket(result.next()));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error fetching ticket page: " + e.getMessage());
+        }
+        return toPage(tickets, limit);
+    }
+
+    /**
+     * Keyset page of the tickets matching criteria, in the same order and
+     * with the same cursors as {@link #findPage(String, int)}. The page size is
+     * the criteria limit, at most MAX_PAGE_SIZE; its skip is ignored.
+     */
+    public TicketPage findPage(TicketCriteria criteria, String cursor) {
+        int limit = Math.min(criteria.getLimit(), MAX_PAGE_SIZE);
+        TicketCriteria.Builder page = criteria.toBuilder().skip(0).limit(limit + 1);
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            page.after(LocalDateTime.parse(position[0]), position[1]);
+        }
+        TicketCriteria query = page.build();
+
+        List<Ticket> tickets = new ArrayList<>();
+        try (Session session = connection.getSession()) {
+            Result result = session.run(query.toCypher(), query.toParameters());
+            while (result.hasNext()) {
+                tickets.add(mapToTicket(result.next()));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error fetching filtered ticket page: " + e.getMessage());
+        }
+        return toPage(tickets, limit);
+    }
+
+    static String pageQuery(String cursor) {
+        return cursor == null ? FIRST_PAGE_QUERY : NEXT_PAGE_QUERY;
+    }
+
+    // Fetches one extra row to find out whether another page exists
+    static Map<String, Object> pageParameters(String cursor, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("limit", limit + 1);
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            params.put("createdAt", position[0]);
+            params.put("id", position[1]);
+        }
+        return params;
+    }
+
+    static TicketPage toPage(List<Ticket> tickets, int limit) {
+        if (tickets.size() <= limit) {
+            return new TicketPage(tickets, null);
+        }
+        tickets.remove(limit);
+        return new TicketPage(tickets, encodeCursor(tickets.get(limit - 1)));
+    }
+
+    /**
+     * Streams every ticket, pulling records from the driver lazily in fetch-size
+     * batches. The stream holds a session open and must be closed by the caller.
+     */
+    public Stream<Ticket> streamAll() {
+        return stream("MATCH (t:Ticket) RETURN t", Map.of());
+    }
+
+    // Streams every ticket newest first, ordered by (createdAt, id) like findPage; same contract as streamAll
+    public Stream<Ticket> streamAllNewestFirst() {
+        return stream("MATCH (t:Ticket) RETURN t ORDER BY t.createdAt DESC, t.id DESC", Map.of());
+    }
+
+    // Streams tickets created in [startDate, endDate), same contract as streamAll
+    public Stream<Ticket> streamCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        String query = """
+                MATCH (t:Ticket)
+                WHERE t.createdAt >= datetime($startDate) AND t.createdAt < datetime($endDate)
+                RETURN t
+                """;
+        return stream(query, Map.of(
+                "startDate", startDate.toString(),
+                "endDate", endDate.toString()));
+    }
+
+    private Stream<Ticket> stream(String query, Map<String, Object> params) {
+        Session session = connection.getSession();
+        try {
+            Result result = session.run(query, params);
+            return result.stream()
+                    .map(TicketRepository::mapToTicket)
+                    .onClose(session::close);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
     // Find ticket by ID
     public Ticket findById(String id) {
         String query = "MATCH (t:Ticket {id: $id}) RETURN t";
@@ -98,24 +292,72 @@ public class TicketRepository {
         return null;
     }
 
+    // Find tickets by ID, keeping the order of the given list
+    public List<Ticket> findByIds(List<String> ids) {
+        try {
+            return findByIds(ids, TransactionConfig.empty());
+        } catch (Exception e) {
+            System.err.println("❌ Error finding tickets by ids: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // As findByIds, but the server stops the query after the timeout; errors are thrown, not swallowed
+    public List<Ticket> findByIds(List<String> ids, Duration timeout) {
+        return findByIds(ids, Neo4jConnection.timeout(timeout));
+    }
+
+    private List<Ticket> findByIds(List<String> ids, TransactionConfig config) {
+        List<Ticket> tickets = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return tickets;
+        }
+
+        String query = "MATCH (t:Ticket) WHERE t.id IN $ids RETURN t";
+
+        try (Session session = connection.getSession()) {
+            Result result = session.run(query, Map.<String, Object>of("ids", ids), config);
+            Map<String, Ticket> byId = new HashMap<>();
+            while (result.hasNext()) {
+                Ticket ticket = mapToTicket(result.next());
+                byId.put(ticket.getId(), ticket);
+            }
+            for (String id : ids) {
+                Ticket ticket = byId.get(id);
+                if (ticket != null) {
+                    tickets.add(ticket);
+                }
+            }
+        }
+
+        return tickets;
+    }
+
     // Update ticket
     public Ticket update(Ticket ticket) {
         ticket.setUpdatedAt(LocalDateTime.now());
 
         String query = """
                 MATCH (t:Ticket {id: $id})
+                WITH t, %s AS before, t.updatedAt AS previousUpdate
                 SET t.title = $title,
                     t.description = $description,
                     t.status = $status,
                     t.priority = $priority,
                     t.category = $category,
                     t.assignedTo = $assignedTo,
-                    t.updatedAt = datetime($updatedAt)
-                RETURN t
-                """;
+                    t.updatedAt = datetime($updatedAt),
+                    // Stamped when the ticket enters RESOLVED, kept across later edits
+                    t.resolvedAt = CASE
+                        WHEN $status = 'RESOLVED' AND before.status <> 'RESOLVED' THEN datetime($updatedAt)
+                        WHEN $status = 'RESOLVED' THEN coalesce(t.resolvedAt, previousUpdate)
+                        ELSE datetime($resolvedAt) END,
+                    t.minhash = $minhash
+                RETURN before, %s AS after
+                """.formatted(CELL, CELL);
 
         try (Session session = connection.getSession()) {
-            session.run(query,
+            Result result = session.run(query,
                     Values.parameters(
                             "id", ticket.getId(),
                             "title", ticket.getTitle(),
@@ -124,8 +366,16 @@ public class TicketRepository {
                             "priority", ticket.getPriority(),
                             "category", ticket.getCategory(),
                             "assignedTo", ticket.getAssignedTo(),
-                            "updatedAt", ticket.getUpdatedAt().toString()));
+                            "updatedAt", ticket.getUpdatedAt().toString(),
+                            "resolvedAt", ticket.getResolvedAt() != null ? ticket.getResolvedAt().toString() : null,
+                            "minhash", refreshMinHash(ticket)));
+            if (result.hasNext()) {
+                Record record = result.next();
+                counters.move(toCell(record.get("before")), toTally(record.get("before")),
+                        toCell(record.get("after")), toTally(record.get("after")));
+            }
             System.out.println("✅ Ticket updated: " + ticket.getId());
+            notifyListeners(listener -> listener.ticketUpdated(ticket));
             return ticket;
         } catch (Exception e) {
             System.err.println("❌ Error updating ticket: " + e.getMessage());
@@ -133,13 +383,100 @@ public class TicketRepository {
         }
     }
 
+    // Signs the text being written, whoever edited it, so a stale signature is never stored; null when there are no words
+    private static int[] refreshMinHash(Ticket ticket) {
+        int[] signature = MinHash.signature(ticket.getTitle(), ticket.getDescription());
+        ticket.setMinHash(signature);
+        return MinHash.isEmpty(signature) ? null : signature;
+    }
+
+    // Link a ticket to the existing tickets it likely duplicates
+    public void linkPossibleDuplicates(String ticketId, List<String> duplicateIds) {
+        String query = """
+                MATCH (t:Ticket {id: $id})
+                UNWIND $duplicateIds AS duplicateId
+                MATCH (d:Ticket {id: duplicateId})
+                MERGE (t)-[:POSSIBLE_DUPLICATE_OF]->(d)
+                """;
+
+        try (Session session = connection.getSession()) {
+            session.run(query, Values.parameters("id", ticketId, "duplicateIds", duplicateIds)).consume();
+        } catch (Exception e) {
+            System.err.println("❌ Error linking duplicate tickets: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Upserts a batch of imported tickets in one transaction, linking each to
+     * its Category (created by name if missing) and to the assigned User.
+     * MERGE on the id makes replaying a batch harmless: timestamps missing
+     * from a row keep the stored ones, and only a new ticket defaults its
+     * createdAt to now. Rows are maps with the ticket property names,
+     * timestamps as ISO strings. Bypasses change listeners and counters;
+     * reconcile and rebuild the in-memory views afterwards.
+     */
+    public void importBatch(List<Map<String, Object>> rows) {
+        String query = """
+                UNWIND $rows AS row
+                MERGE (t:Ticket {id: row.id})
+                SET t.title = row.title,
+                    t.description = row.description,
+                    t.status = row.status,
+                    t.priority = row.priority,
+                    t.category = row.category,
+                    t.assignedTo = row.assignedTo,
+                    t.createdBy = row.createdBy,
+                    t.minhash = row.minhash
+                // Record timestamps win; missing ones keep what a first import stored
+                WITH t, row, coalesce(datetime(row.createdAt), t.createdAt, datetime()) AS createdAt
+                WITH t, row, createdAt, coalesce(datetime(row.updatedAt), t.updatedAt, createdAt) AS updatedAt
+                SET t.createdAt = createdAt,
+                    t.updatedAt = updatedAt,
+                    t.resolvedAt = CASE WHEN row.status = 'RESOLVED'
+                        THEN coalesce(datetime(row.resolvedAt), t.resolvedAt, updatedAt) END
+                WITH t, row
+                CALL {
+                    WITH t, row
+                    OPTIONAL MATCH (t)-[old:IN_CATEGORY|ASSIGNED_TO]->()
+                    DELETE old
+                }
+                CALL {
+                    WITH t, row
+                    WITH t, row WHERE row.category IS NOT NULL
+                    MERGE (c:Category {name: row.category})
+                    ON CREATE SET c.id = randomUUID(), c.active = true, c.createdAt = datetime()
+                    MERGE (t)-[:IN_CATEGORY]->(c)
+                }
+                CALL {
+                    WITH t, row
+                    WITH t, row WHERE row.assignedTo IS NOT NULL
+                    MATCH (u:User {id: row.assignedTo})
+                    MERGE (t)-[:ASSIGNED_TO]->(u)
+                }
+                """;
+
+        try (Session session = connection.getSession()) {
+            session.executeWrite(tx -> tx.run(query, Values.parameters("rows", rows)).consume());
+        }
+    }
+
     // Delete ticket
     public boolean delete(String id) {
-        String query = "MATCH (t:Ticket {id: $id}) DELETE t";
+        String query = """
+                MATCH (t:Ticket {id: $id})
+                WITH t, %s AS cell
+                DETACH DELETE t
+                RETURN cell
+                """.formatted(CELL);
 
         try (Session session = connection.getSession()) {
-            session.run(query, Values.parameters("id", id));
+            Result result = session.run(query, Values.parameters("id", id));
+            if (result.hasNext()) {
+                Value cell = result.next().get("cell");
+                counters.remove(toCell(cell), toTally(cell));
+            }
             System.out.println("✅ Ticket deleted: " + id);
+            notifyListeners(listener -> listener.ticketDeleted(id));
             return true;
         } catch (Exception e) {
             System.err.println("❌ Error deleting ticket: " + e.getMessage());
@@ -210,12 +547,26 @@ public class TicketRepository {
         return tickets;
     }
 
+    // Find tickets matching the given criteria, filtered and paged on the server
+    public List<Ticket> findByCriteria(TicketCriteria criteria) {
+        List<Ticket> tickets = new ArrayList<>();
+
+        try (Session session = connection.getSession()) {
+            Result result = session.run(criteria.toCypher(), criteria.toParameters());
+            while (result.hasNext()) {
+                tickets.add(mapToTicket(result.next()));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error finding tickets by criteria: " + e.getMessage());
+        }
+
+        return tickets;
+    }
+
     // Get total ticket count
     public long count() {
-        String query = "MATCH (t:Ticket) RETURN count(t) as count";
-
         try (Session session = connection.getSession()) {
-            Result result = session.run(query);
+            Result result = session.run(COUNT_QUERY);
             if (result.hasNext()) {
                 return result.next().get("count").asLong();
             }
@@ -228,10 +579,8 @@ public class TicketRepository {
 
     // Get ticket count by status (enum version)
     public long countByStatus(org.example.model.enums.TicketStatus status) {
-        String query = "MATCH (t:Ticket {status: $status}) RETURN count(t) as count";
-
         try (Session session = connection.getSession()) {
-            Result result = session.run(query, Values.parameters("status", status.name()));
+            Result result = session.run(COUNT_BY_STATUS_QUERY, Values.parameters("status", status.name()));
             if (result.hasNext()) {
                 return result.next().get("count").asLong();
             }
@@ -244,10 +593,8 @@ public class TicketRepository {
 
     // Get ticket count by status (String version - for backward compatibility)
     public long countByStatus(String status) {
-        String query = "MATCH (t:Ticket {status: $status}) RETURN count(t) as count";
-
         try (Session session = connection.getSession()) {
-            Result result = session.run(query, Values.parameters("status", status));
+            Result result = session.run(COUNT_BY_STATUS_QUERY, Values.parameters("status", status));
             if (result.hasNext()) {
                 return result.next().get("count").asLong();
             }
@@ -274,20 +621,131 @@ public class TicketRepository {
         return 0;
     }
 
-    // Search tickets by title or description
+    /**
+     * Counts tickets by status, priority and category and averages resolution
+     * time in one statement, straight from the database. Prefer
+     * {@link #getCounters()} for frequent reads.
+     */
+    public DashboardSnapshot aggregateDashboard() {
+        try {
+            return TicketCounters.snapshot(countCells());
+        } catch (Exception e) {
+            System.err.println("❌ Error aggregating dashboard metrics: " + e.getMessage());
+            return TicketCounters.snapshot(Map.of());
+        }
+    }
+
+    public TicketCounters getCounters() {
+        return counters;
+    }
+
+    // Repairs counter drift from a full count, returns the number of misplaced tickets
+    public long reconcileCounters() {
+        try {
+            long drift = counters.reconcile(this::countCells);
+            if (drift > 0) {
+                System.out.println("⚠️ Ticket counters drifted by " + drift + ", reconciled");
+            }
+            return drift;
+        } catch (Exception e) {
+            System.err.println("❌ Error reconciling ticket counters: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Tickets created and resolved per day in [from, to), bucketed by the
+     * database. Resolution day is the resolvedAt of RESOLVED tickets (their
+     * updatedAt if resolved before resolvedAt was recorded), as for resolution
+     * time. Days without activity are left out. Returns null if the
+     * query fails, so callers can tell an error from a quiet period.
+     */
+    public List<DailyTicketCount> countByDay(LocalDate from, LocalDate to) {
+        List<DailyTicketCount> days = new ArrayList<>();
+        try (Session session = connection.getSession()) {
+            Result result = session.run(COUNT_BY_DAY_QUERY, countByDayParameters(from, to));
+            while (result.hasNext()) {
+                days.add(toDailyCount(result.next()));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error counting tickets by day: " + e.getMessage());
+            return null;
+        }
+        return days;
+    }
+
+    static Map<String, Object> countByDayParameters(LocalDate from, LocalDate to) {
+        return Map.of("from", from.atStartOfDay().toString(), "to", to.atStartOfDay().toString());
+    }
+
+    static DailyTicketCount toDailyCount(Record record) {
+        return new DailyTicketCount(record.get("day").asLocalDate(),
+                record.get("created").asLong(), record.get("resolved").asLong());
+    }
+
+    // The database groups by each distinct (status, priority, category), so only a handful of cells come back
+    static final String COUNT_CELLS_QUERY = """
+            MATCH (t:Ticket)
+            WITH %s AS cell
+            WITH cell.status AS status, cell.priority AS priority, cell.category AS category,
+                 count(*) AS tickets,
+                 sum(cell.resolutionMinutes) AS resolutionMinutes,
+                 count(cell.resolutionMinutes) AS timedResolutions
+            RETURN collect({status: status, priority: priority, category: category, tickets: tickets,
+                            resolutionMinutes: resolutionMinutes, timedResolutions: timedResolutions}) AS cells
+            """.formatted(CELL);
+
+    private Map<TicketCounters.Cell, TicketCounters.Tally> countCells() {
+        try (Session session = connection.getSession()) {
+            return toCells(session.run(COUNT_CELLS_QUERY).single());
+        }
+    }
+
+    static Map<TicketCounters.Cell, TicketCounters.Tally> toCells(Record record) {
+        Map<TicketCounters.Cell, TicketCounters.Tally> cells = new HashMap<>();
+        for (Value cell : record.get("cells").values()) {
+            cells.put(toCell(cell), new TicketCounters.Tally(cell.get("tickets").asLong(),
+                    cell.get("resolutionMinutes").asLong(), cell.get("timedResolutions").asLong()));
+        }
+        return cells;
+    }
+
+    private static TicketCounters.Cell toCell(Value cell) {
+        return new TicketCounters.Cell(cell.get("status").asString(), cell.get("priority").asString(),
+                cell.get("category").asString());
+    }
+
+    private static TicketCounters.Tally toTally(Value cell) {
+        Value minutes = cell.get("resolutionMinutes");
+        return TicketCounters.Tally.of(minutes.isNull() ? null : minutes.asLong());
+    }
+
+    // Search tickets by title or description through the full-text index
     public List<Ticket> search(String keyword) {
-        String query = """
-                MATCH (t:Ticket)
-                WHERE toLower(t.title) CONTAINS toLower($keyword)
-                   OR toLower(t.description) CONTAINS toLower($keyword)
-                RETURN t
-                ORDER BY t.createdAt DESC
-                """;
+        return search(keyword, 0, DEFAULT_SEARCH_LIMIT);
+    }
 
+    public List<Ticket> search(String keyword, int skip, int limit) {
         List<Ticket> tickets = new ArrayList<>();
+        String luceneQuery = FullTextQueries.toLuceneQuery(keyword);
+        if (luceneQuery == null) {
+            return tickets;
+        }
+
+        String query = """
+                CALL db.index.fulltext.queryNodes($index, $query) YIELD node AS t, score
+                RETURN t, score
+                ORDER BY score DESC, t.createdAt DESC
+                SKIP $skip
+                LIMIT $limit
+                """;
 
         try (Session session = connection.getSession()) {
-            Result result = session.run(query, Values.parameters("keyword", keyword));
+            Result result = session.run(query, Values.parameters(
+                    "index", SchemaInitializer.TICKET_FULLTEXT_INDEX,
+                    "query", luceneQuery,
+                    "skip", skip,
+                    "limit", limit));
             while (result.hasNext()) {
                 tickets.add(mapToTicket(result.next()));
             }
@@ -298,7 +756,7 @@ public class TicketRepository {
         return tickets;
     }
 
-    private Ticket mapToTicket(Record record) {
+    static Ticket mapToTicket(Record record) {
         var node = record.get("t").asNode();
 
         Ticket ticket = new Ticket();
@@ -312,16 +770,57 @@ public class TicketRepository {
         ticket.setCreatedBy(node.get("createdBy").asString(""));
 
         if (!node.get("createdAt").isNull()) {
-            ticket.setCreatedAt(node.get("createdAt").asLocalDateTime());
+            ticket.setCreatedAt(toLocalDateTime(node.get("createdAt")));
         }
 
         if (!node.get("updatedAt").isNull()) {
-            ticket.setUpdatedAt(node.get("updatedAt").asLocalDateTime());
+            ticket.setUpdatedAt(toLocalDateTime(node.get("updatedAt")));
+        }
+
+        if (!node.get("resolvedAt").isNull()) {
+            ticket.setResolvedAt(toLocalDateTime(node.get("resolvedAt")));
+        }
+
+        Value minHash = node.get("minhash");
+        if (!minHash.isNull()) {
+            int[] signature = new int[minHash.size()];
+            for (int i = 0; i < signature.length; i++) {
+                signature[i] = minHash.get(i).asInt();
+            }
+            ticket.setMinHash(signature);
         }
 
         return ticket;
     }
 
+    private static LocalDateTime toLocalDateTime(Value value) {
+        return DateUtils.toLocalDateTime(value.asObject());
+    }
+
+    private static String encodeCursor(Ticket ticket) {
+        String position = ticket.getCreatedAt() + "|" + ticket.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = position.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid ticket cursor: " + cursor);
+        }
+        return new String[] { position.substring(0, separator), position.substring(separator + 1) };
+    }
+
+    private void notifyListeners(Consumer<TicketChangeListener> event) {
+        for (TicketChangeListener listener : LISTENERS) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                System.err.println("❌ Ticket change listener failed: " + e.getMessage());
+            }
+        }
+    }
+
     // Generate unique ticket ID
     private String generateTicketId() {
         return "TKT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
@@ -2,11 +2,14 @@ package org.example.repository;
 
 import org.example.model.User;
 import org.example.model.enums.UserRole;
+import org.example.util.DateUtils;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.TransactionConfig;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,8 +20,8 @@ import static org.neo4j.driver.Values.parameters;
 public class UserRepository {
     private final Driver driver;
 
-    public UserRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public UserRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public User save(User user) {
@@ -27,7 +30,7 @@ public class UserRepository {
                     "SET u.username = $username, u.email = $email, u.password = $password, " +
                     "u.fullName = $fullName, u.role = $role, u.teamId = $teamId, " +
                     "u.department = $department, u.phone = $phone, u.active = $active, " +
-                    "u.createdAt = $createdAt, u.avatarUrl = $avatarUrl " +
+                    "u.createdAt = datetime($createdAt), u.avatarUrl = $avatarUrl " +
                     "RETURN u";
 
             session.run(query, parameters(
@@ -89,6 +92,41 @@ public class UserRepository {
         }
     }
 
+    /**
+     * Full-text search over username, full name and email, best match first.
+     * Matches whole words, the last one also as a prefix ("jo" finds "john");
+     * it is not a substring match, so "ohn" finds nothing. At most limit users.
+     */
+    public List<User> search(String text, int limit) {
+        return search(text, limit, TransactionConfig.empty());
+    }
+
+    // As search, but the server stops the query after the timeout
+    public List<User> search(String text, int limit, Duration timeout) {
+        return search(text, limit, Neo4jConnection.timeout(timeout));
+    }
+
+    private List<User> search(String text, int limit, TransactionConfig config) {
+        List<User> users = new ArrayList<>();
+        String luceneQuery = FullTextQueries.toLuceneQuery(text);
+        if (luceneQuery == null) {
+            return users;
+        }
+
+        try (Session session = driver.session()) {
+            String query = "CALL db.index.fulltext.queryNodes($index, $query) YIELD node AS u, score " +
+                    "RETURN u ORDER BY score DESC, u.username LIMIT $limit";
+            Result result = session.run(query, Map.<String, Object>of(
+                    "index", SchemaInitializer.USER_FULLTEXT_INDEX,
+                    "query", luceneQuery,
+                    "limit", limit), config);
+            while (result.hasNext()) {
+                users.add(mapToUser(result.next().get("u").asMap()));
+            }
+            return users;
+        }
+    }
+
     public List<User> findByRole(UserRole role) {
         try (Session session = driver.session()) {
             String query = "MATCH (u:User {role: $role}) RETURN u";
@@ -126,7 +164,7 @@ public class UserRepository {
         user.setActive(map.get("active") != null ? (Boolean) map.get("active") : true);
         user.setAvatarUrl((String) map.get("avatarUrl"));
         if (map.get("createdAt") != null) {
-            user.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            user.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return user;
     }
@@ -1,23 +1,29 @@
 package org.example.repository;
 
 import org.example.model.Workflow;
+import org.example.util.DateUtils;
 import org.neo4j.driver.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.neo4j.driver.Values.parameters;
 
 public class WorkflowRepository {
+    // Looked up on every trigger event
+    private static final Duration CACHE_TTL = Duration.ofMinutes(2);
+
     private final Driver driver;
+    private final QueryCache<String, List<Workflow>> cache = new QueryCache<>("workflowsByTrigger", CACHE_TTL, 64);
 
-    public WorkflowRepository() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public WorkflowRepository(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public Workflow save(Workflow workflow) {
         try (Session session = driver.session()) {
             String query = "MERGE (w:Workflow {id: $id}) " +
                     "SET w.name = $name, w.description = $description, w.triggerEvent = $triggerEvent, " +
-                    "w.active = $active, w.createdAt = $createdAt, w.createdBy = $createdBy, " +
+                    "w.active = $active, w.createdAt = datetime($createdAt), w.createdBy = $createdBy, " +
                     "w.executionCount = $executionCount RETURN w";
 
             session.run(query, parameters(
@@ -32,6 +38,8 @@ public class WorkflowRepository {
                     "createdBy", workflow.getCreatedBy(),
                     "executionCount", workflow.getExecutionCount()));
             return workflow;
+        } finally {
+            cache.invalidateAll();
         }
     }
 
@@ -71,6 +79,24 @@ public class WorkflowRepository {
     }
 
     public List<Workflow> findByTriggerEvent(String triggerEvent) {
+        // Callers get copies so nobody mutates the cached instances
+        List<Workflow> cached = cache.get(triggerEvent, event -> Collections.unmodifiableList(loadByTriggerEvent(event)));
+        List<Workflow> workflows = new ArrayList<>(cached.size());
+        for (Workflow workflow : cached) {
+            workflows.add(new Workflow(workflow));
+        }
+        return workflows;
+    }
+
+    // Bumps the counter in place; the trigger cache doesn't depend on it, so it stays warm
+    public void incrementExecutionCount(String id) {
+        try (Session session = driver.session()) {
+            session.run("MATCH (w:Workflow {id: $id}) SET w.executionCount = coalesce(w.executionCount, 0) + 1",
+                    parameters("id", id));
+        }
+    }
+
+    private List<Workflow> loadByTriggerEvent(String triggerEvent) {
         try (Session session = driver.session()) {
             String query = "MATCH (w:Workflow {triggerEvent: $triggerEvent, active: true}) RETURN w";
             Result result = session.run(query, parameters("triggerEvent", triggerEvent));
@@ -85,9 +111,15 @@ public class WorkflowRepository {
     public void delete(String id) {
         try (Session session = driver.session()) {
             session.run("MATCH (w:Workflow {id: $id}) DETACH DELETE w", parameters("id", id));
+        } finally {
+            cache.invalidateAll();
         }
     }
 
+    public QueryCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
     private Workflow mapToWorkflow(Map<String, Object> map) {
         Workflow workflow = new Workflow();
         workflow.setId((String) map.get("id"));
@@ -99,7 +131,7 @@ public class WorkflowRepository {
         workflow.setExecutionCount(
                 map.get("executionCount") != null ? ((Long) map.get("executionCount")).intValue() : 0);
         if (map.get("createdAt") != null) {
-            workflow.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            workflow.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         return workflow;
     }
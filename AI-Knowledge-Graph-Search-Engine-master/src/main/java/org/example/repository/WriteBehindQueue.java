@@ -0,0 +1,260 @@
+package org.example.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue that lets many threads hand off writes to one background
+ * flusher, which writes them in batches once batchSize events are waiting or
+ * flushInterval has passed. Used for append-only records (audit, metrics)
+ * where the caller does not need the write to have landed.
+ */
+public class WriteBehindQueue<T> implements AutoCloseable {
+
+    // What enqueue does when the queue is full
+    public enum OverflowPolicy {
+        // Wait up to the block timeout for space, then drop
+        BLOCK,
+        // Drop the event immediately
+        DROP,
+        // Write the event synchronously on the caller's thread
+        CALLER_RUNS
+    }
+
+    private static final long BLOCK_TIMEOUT_MS = 100;
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<List<T>> writer;
+    private final Thread flusher;
+
+    // Guards the flusher's wait and wakes flush() callers after each batch
+    private final Object signal = new Object();
+    private boolean flushRequested;
+    private volatile boolean closed;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public WriteBehindQueue(String name, int capacity, int batchSize, long flushIntervalMs,
+            OverflowPolicy overflowPolicy, Consumer<List<T>> writer) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.writer = writer;
+        this.flusher = new Thread(this::run, name + "-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public void enqueue(T event) {
+        if (closed) {
+            writeNow(event);
+            return;
+        }
+
+        boolean queued;
+        try {
+            queued = overflowPolicy == OverflowPolicy.BLOCK
+                    ? queue.offer(event, BLOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    : queue.offer(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (queued) {
+            accepted.increment();
+            if (closed) {
+                // close() may have done its final drain before the offer landed
+                drainAndWrite();
+            } else if (queue.size() >= batchSize) {
+                synchronized (signal) {
+                    signal.notifyAll();
+                }
+            }
+        } else if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            callerRuns.increment();
+            writeNow(event);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Blocks until everything enqueued before this call has been written (or
+     * has failed). Call before reading back so queued events are visible.
+     */
+    public void flush() {
+        long target = accepted.sum();
+        synchronized (signal) {
+            flushRequested = true;
+            signal.notifyAll();
+            while (processed.sum() < target && flusher.isAlive()) {
+                try {
+                    signal.wait(flushIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Stops the flusher after it has written everything still queued; later events are written synchronously
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            flusher.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the flusher did not get to before the timeout
+        drainAndWrite();
+        System.out.println("✅ " + name + " write-behind queue closed: " + getStats());
+    }
+
+    public Stats getStats() {
+        return new Stats(queue.size(), accepted.sum(), written.sum(), failed.sum(), dropped.sum(),
+                callerRuns.sum(), batches.sum());
+    }
+
+    private void run() {
+        while (true) {
+            synchronized (signal) {
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                long remaining = flushIntervalMs;
+                while (queue.size() < batchSize && !flushRequested && !closed && remaining > 0) {
+                    try {
+                        signal.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    remaining = deadline - System.currentTimeMillis();
+                }
+                flushRequested = false;
+            }
+
+            drainAndWrite();
+
+            if (closed && queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void drainAndWrite() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            processed.add(batch.size());
+            batch.clear();
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    private void writeNow(T event) {
+        write(List.of(event));
+    }
+
+    private void write(List<T> batch) {
+        try {
+            writer.accept(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (Exception e) {
+            failed.add(batch.size());
+            System.err.println("❌ Error writing " + batch.size() + " " + name + " events: " + e.getMessage());
+        }
+    }
+
+    public static class Stats {
+        private final int queued;
+        private final long accepted;
+        private final long written;
+        private final long failed;
+        private final long dropped;
+        private final long callerRuns;
+        private final long batches;
+
+        public Stats(int queued, long accepted, long written, long failed, long dropped, long callerRuns,
+                long batches) {
+            this.queued = queued;
+            this.accepted = accepted;
+            this.written = written;
+            this.failed = failed;
+            this.dropped = dropped;
+            this.callerRuns = callerRuns;
+            this.batches = batches;
+        }
+
+        // Events waiting for the flusher right now
+        public int getQueued() {
+            return queued;
+        }
+
+        public long getAccepted() {
+            return accepted;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        // Lost to a full queue under the DROP or BLOCK policy
+        public long getDropped() {
+            return dropped;
+        }
+
+        // Written synchronously because the queue was full
+        public long getCallerRuns() {
+            return callerRuns;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "queued=" + queued +
+                    ", written=" + written +
+                    ", batches=" + batches +
+                    ", failed=" + failed +
+                    ", dropped=" + dropped +
+                    ", callerRuns=" + callerRuns +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.search;
+
+import org.example.model.Ticket;
+import org.example.repository.TicketChangeJournal;
+import org.example.repository.TicketChangeListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Locality-sensitive hashing over MinHash signatures. Each signature is split
+ * into bands; tickets sharing any whole band are candidates, so a duplicate
+ * check costs one map lookup per band instead of a scan over all tickets.
+ */
+public class DuplicateTicketIndex implements TicketChangeListener {
+    // 16 bands of 8 rows: pairs above ~0.7 Jaccard almost always collide
+    private static final int BANDS = 16;
+    private static final int ROWS = MinHash.SIGNATURE_LENGTH / BANDS;
+
+    private final Object lock = new Object();
+    private List<Map<Long, Set<String>>> buckets = new ArrayList<>();
+    private Map<String, int[]> signatures = new HashMap<>();
+    // Writes seen while a rebuild reads its snapshot, replayed once it is swapped in
+    private TicketChangeJournal journal;
+    private volatile boolean loaded;
+
+    public DuplicateTicketIndex() {
+        for (int i = 0; i < BANDS; i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the whole index content. Signatures are bucketed into a fresh
+     * copy without holding the lock; writes that arrive meanwhile are replayed
+     * on it once it is swapped in.
+     */
+    public synchronized void rebuild(Iterable<Ticket> tickets) {
+        TicketChangeJournal changes = new TicketChangeJournal();
+        synchronized (lock) {
+            journal = changes;
+        }
+
+        DuplicateTicketIndex fresh = new DuplicateTicketIndex();
+        try {
+            for (Ticket ticket : tickets) {
+                if (ticket != null && ticket.getId() != null) {
+                    fresh.add(ticket);
+                }
+            }
+        } finally {
+            synchronized (lock) {
+                journal = null;
+            }
+        }
+
+        synchronized (lock) {
+            buckets = fresh.buckets;
+            signatures = fresh.signatures;
+            changes.replay(this);
+            loaded = true;
+            System.out.println("✅ Duplicate detection index built: " + signatures.size() + " tickets");
+        }
+    }
+
+    public void upsert(Ticket ticket) {
+        if (ticket == null || ticket.getId() == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (journal != null) {
+                journal.ticketUpdated(ticket);
+            }
+            removeSignature(ticket.getId());
+            add(ticket);
+        }
+    }
+
+    public void remove(String ticketId) {
+        synchronized (lock) {
+            if (journal != null) {
+                journal.ticketDeleted(ticketId);
+            }
+            removeSignature(ticketId);
+        }
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        upsert(ticket);
+    }
+
+    @Override
+    public void ticketUpdated(Ticket ticket) {
+        upsert(ticket);
+    }
+
+    @Override
+    public void ticketDeleted(String ticketId) {
+        remove(ticketId);
+    }
+
+    /**
+     * Returns ids of indexed tickets whose estimated Jaccard similarity to the
+     * signature is at least minSimilarity, most similar first.
+     */
+    public List<String> findDuplicates(int[] signature, String excludeId, double minSimilarity) {
+        if (MinHash.isEmpty(signature)) {
+            return new ArrayList<>();
+        }
+
+        synchronized (lock) {
+            return findDuplicatesLocked(signature, excludeId, minSimilarity);
+        }
+    }
+
+    private List<String> findDuplicatesLocked(int[] signature, String excludeId, double minSimilarity) {
+        Set<String> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<String> bucket = buckets.get(band).get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(excludeId);
+
+        Map<String, Double> scored = new HashMap<>();
+        for (String candidate : candidates) {
+            double similarity = MinHash.similarity(signature, signatures.get(candidate));
+            if (similarity >= minSimilarity) {
+                scored.put(candidate, similarity);
+            }
+        }
+
+        List<String> duplicates = new ArrayList<>(scored.keySet());
+        duplicates.sort(Comparator.comparing(scored::get, Comparator.reverseOrder()));
+        return duplicates;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return signatures.size();
+        }
+    }
+
+    private void add(Ticket ticket) {
+        int[] signature = ticket.getMinHash();
+        if (signature == null || signature.length != MinHash.SIGNATURE_LENGTH) {
+            signature = MinHash.signature(ticket.getTitle(), ticket.getDescription());
+        }
+        if (MinHash.isEmpty(signature)) {
+            return;
+        }
+        signatures.put(ticket.getId(), signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.get(band).computeIfAbsent(bandKey(signature, band), k -> new HashSet<>(2)).add(ticket.getId());
+        }
+    }
+
+    private void removeSignature(String ticketId) {
+        int[] signature = signatures.remove(ticketId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, Set<String>> bandBuckets = buckets.get(band);
+            long key = bandKey(signature, band);
+            Set<String> bucket = bandBuckets.get(key);
+            if (bucket != null && bucket.remove(ticketId) && bucket.isEmpty()) {
+                bandBuckets.remove(key);
+            }
+        }
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = 1125899906842597L;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = 31 * key + signature[i];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,474 @@
+package org.example.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical Navigable Small World graph for approximate nearest-neighbour
+ * search over L2-normalized vectors (similarity = dot product). Vectors are
+ * stored packed in a single float array; removed nodes are tombstoned and kept
+ * for graph navigation but never returned. Tombstones are never reclaimed, so
+ * owners rebuild the graph from the live vectors once too many pile up.
+ */
+public class HnswIndex {
+    private final int dimension;
+    private final int maxLinks;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<VisitedSet> visited = ThreadLocal.withInitial(VisitedSet::new);
+
+    private float[] vectors;
+    // links[node][level] = {count, neighbour ids...}
+    private int[][][] links;
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimension) {
+        this(dimension, 16, 100);
+    }
+
+    public HnswIndex(int dimension, int maxLinks, int efConstruction) {
+        this.dimension = dimension;
+        this.maxLinks = maxLinks;
+        this.maxLinksLevel0 = maxLinks * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(maxLinks);
+        this.vectors = new float[1024 * dimension];
+        this.links = new int[1024][][];
+    }
+
+    // Adds a vector and returns its node id
+    public int add(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected vector of dimension " + dimension);
+        }
+
+        lock.writeLock().lock();
+        try {
+            int node = size++;
+            ensureCapacity(size);
+            System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+
+            int level = randomLevel();
+            links[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[node][l] = new int[(l == 0 ? maxLinksLevel0 : maxLinks) + 1];
+            }
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return node;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedyClosest(node, current, l);
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                NodeHeap candidates = searchLayer(vectors, node * dimension, current, efConstruction, l);
+                float[] scores = candidates.scoresDescending();
+                int[] nearest = candidates.drainDescending();
+                int count = selectNeighbours(nearest, scores, nearest.length, l == 0 ? maxLinksLevel0 : maxLinks);
+
+                int[] own = links[node][l];
+                for (int i = 0; i < count; i++) {
+                    own[i + 1] = nearest[i];
+                    addLink(nearest[i], node, l);
+                }
+                own[0] = count;
+                current = nearest[0];
+            }
+
+            if (level > maxLevel) {
+                entryPoint = node;
+                maxLevel = level;
+            }
+            return node;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int node) {
+        lock.writeLock().lock();
+        try {
+            if (node >= 0 && node < size) {
+                deleted.set(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isDeleted(int node) {
+        lock.readLock().lock();
+        try {
+            return deleted.get(node);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to k live node ids ordered by decreasing similarity. The
+     * similarity of each hit is written to {@code similarities} when non-null.
+     */
+    public int[] search(float[] query, int k, int ef, float[] similarities) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return new int[0];
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedyClosest(query, current, l);
+            }
+
+            NodeHeap results = searchLayer(query, 0, current, Math.max(ef, k), 0);
+            float[] scores = results.scoresDescending();
+            int[] nearest = results.drainDescending();
+
+            int[] hits = new int[Math.min(k, nearest.length)];
+            int count = 0;
+            for (int i = 0; i < nearest.length && count < hits.length; i++) {
+                if (deleted.get(nearest[i])) {
+                    continue;
+                }
+                if (similarities != null && count < similarities.length) {
+                    similarities[count] = scores[i];
+                }
+                hits[count++] = nearest[i];
+            }
+            return count == hits.length ? hits : Arrays.copyOf(hits, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Copy of a node's vector, e.g. to re-insert it into a compacted graph
+    public float[] vector(int node) {
+        lock.readLock().lock();
+        try {
+            return Arrays.copyOfRange(vectors, node * dimension, (node + 1) * dimension);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int greedyClosest(int node, int start, int level) {
+        return greedyClosest(vectors, node * dimension, start, level);
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        return greedyClosest(query, 0, start, level);
+    }
+
+    private int greedyClosest(float[] query, int offset, int start, int level) {
+        int current = start;
+        float best = similarity(query, offset, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float score = similarity(query, offset, neighbours[i]);
+                if (score > best) {
+                    best = score;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first search on one layer, returns the ef closest nodes found
+    private NodeHeap searchLayer(float[] query, int offset, int start, int ef, int level) {
+        VisitedSet seen = visited.get();
+        seen.reset(size);
+
+        NodeHeap candidates = new NodeHeap(ef * 2, false);
+        NodeHeap results = new NodeHeap(ef + 1, true);
+
+        float startScore = similarity(query, offset, start);
+        candidates.push(start, startScore);
+        results.push(start, startScore);
+        seen.mark(start);
+
+        while (candidates.size() > 0) {
+            float candidateScore = candidates.topScore();
+            if (results.size() >= ef && candidateScore < results.topScore()) {
+                break;
+            }
+            int candidate = candidates.pop();
+
+            if (level >= links[candidate].length) {
+                continue;
+            }
+            int[] neighbours = links[candidate][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                float score = similarity(query, offset, neighbour);
+                if (results.size() < ef || score > results.topScore()) {
+                    candidates.push(neighbour, score);
+                    results.push(neighbour, score);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // Adds `to` to the neighbour list of `from`, re-selecting the list when full
+    private void addLink(int from, int to, int level) {
+        int[] neighbours = links[from][level];
+        int count = neighbours[0];
+        for (int i = 1; i <= count; i++) {
+            if (neighbours[i] == to) {
+                return;
+            }
+        }
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = to;
+            neighbours[0] = count + 1;
+            return;
+        }
+
+        // Rank the existing links plus the new one by similarity to `from`
+        int fromOffset = from * dimension;
+        int[] candidates = new int[count + 1];
+        float[] scores = new float[count + 1];
+        for (int i = 0; i <= count; i++) {
+            int candidate = i < count ? neighbours[i + 1] : to;
+            float score = similarity(vectors, fromOffset, candidate);
+            int j = i;
+            while (j > 0 && scores[j - 1] < score) {
+                candidates[j] = candidates[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            candidates[j] = candidate;
+            scores[j] = score;
+        }
+
+        int selected = selectNeighbours(candidates, scores, candidates.length, count);
+        System.arraycopy(candidates, 0, neighbours, 1, selected);
+        neighbours[0] = selected;
+    }
+
+    /**
+     * Neighbour selection heuristic from the HNSW paper: walking candidates best
+     * first, keep one only if it is closer to the base node than to every node
+     * already kept. This preserves links between clusters, which plain top-M
+     * selection prunes away. Selected ids are moved to the front of candidates.
+     */
+    private int selectNeighbours(int[] candidates, float[] scores, int length, int limit) {
+        int selected = 0;
+        for (int i = 0; i < length && selected < limit; i++) {
+            int candidate = candidates[i];
+            int candidateOffset = candidate * dimension;
+            boolean diverse = true;
+            for (int j = 0; j < selected; j++) {
+                if (similarity(vectors, candidateOffset, candidates[j]) > scores[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                candidates[selected++] = candidate;
+            }
+        }
+        return selected;
+    }
+
+    // Dot product with four accumulators so the JIT can pipeline the loop
+    private float similarity(float[] query, int offset, int node) {
+        int base = node * dimension;
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i + 3 < dimension; i += 4) {
+            s0 += query[offset + i] * vectors[base + i];
+            s1 += query[offset + i + 1] * vectors[base + i + 1];
+            s2 += query[offset + i + 2] * vectors[base + i + 2];
+            s3 += query[offset + i + 3] * vectors[base + i + 3];
+        }
+        for (; i < dimension; i++) {
+            s0 += query[offset + i] * vectors[base + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return (int) (-Math.log(uniform) * levelMultiplier);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= links.length) {
+            return;
+        }
+        int capacity = Math.max(required, links.length * 2);
+        links = Arrays.copyOf(links, capacity);
+        vectors = Arrays.copyOf(vectors, capacity * dimension);
+    }
+
+    // Epoch-stamped visited marks so searches do not allocate per call
+    private static class VisitedSet {
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[Math.max(size, marks.length * 2)];
+                epoch = 0;
+            }
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        // Returns false if the node was already visited
+        boolean mark(int node) {
+            if (marks[node] == epoch) {
+                return false;
+            }
+            marks[node] = epoch;
+            return true;
+        }
+    }
+
+    // Binary heap of (node, score); min-heap keeps the worst result on top
+    private static class NodeHeap {
+        private int[] nodes;
+        private float[] scores;
+        private int size;
+        private final boolean minHeap;
+
+        NodeHeap(int capacity, boolean minHeap) {
+            this.nodes = new int[Math.max(capacity, 4)];
+            this.scores = new float[nodes.length];
+            this.minHeap = minHeap;
+        }
+
+        int size() {
+            return size;
+        }
+
+        float topScore() {
+            return scores[0];
+        }
+
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(score, scores[parent])) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            size--;
+            if (size > 0) {
+                int lastNode = nodes[size];
+                float lastScore = scores[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && before(scores[child + 1], scores[child])) {
+                        child++;
+                    }
+                    if (!before(scores[child], lastScore)) {
+                        break;
+                    }
+                    nodes[i] = nodes[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                nodes[i] = lastNode;
+                scores[i] = lastScore;
+            }
+            return top;
+        }
+
+        // Scores sorted best first, without consuming the heap
+        float[] scoresDescending() {
+            float[] sorted = Arrays.copyOf(scores, size);
+            Arrays.sort(sorted);
+            for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                float tmp = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = tmp;
+            }
+            return sorted;
+        }
+
+        // Empties the heap, returning nodes best first
+        int[] drainDescending() {
+            int[] ordered = new int[size];
+            if (minHeap) {
+                for (int i = ordered.length - 1; i >= 0; i--) {
+                    ordered[i] = pop();
+                }
+            } else {
+                for (int i = 0; i < ordered.length; i++) {
+                    ordered[i] = pop();
+                }
+            }
+            return ordered;
+        }
+
+        private boolean before(float a, float b) {
+            return minHeap ? a < b : a > b;
+        }
+    }
+}
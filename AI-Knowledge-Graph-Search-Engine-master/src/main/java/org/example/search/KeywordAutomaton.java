@@ -0,0 +1,138 @@
+package org.example.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton compiled to a dense transition table, so finding every
+ * occurrence of every keyword is one table lookup per input character no
+ * matter how many keywords there are. Characters that appear in no keyword
+ * all share one column that leads back to the root.
+ * <p>
+ * Usage: start from {@link #ROOT}, feed characters through {@link #next} and
+ * read {@link #matches} after each step.
+ */
+public final class KeywordAutomaton {
+    public static final int ROOT = 0;
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final int[] asciiColumns = new int[128];
+    private final Map<Character, Integer> otherColumns = new HashMap<>();
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] matches;
+
+    /**
+     * Compiles the keywords; the ids reported by {@link #matches} are indexes
+     * into this list. Keywords are matched case-sensitively as given.
+     */
+    public KeywordAutomaton(List<String> keywords) {
+        // Column 0 stands for any character not used by a keyword
+        int columns = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (column(c) == 0) {
+                    if (c < 128) {
+                        asciiColumns[c] = columns++;
+                    } else {
+                        otherColumns.put(c, columns++);
+                    }
+                }
+            }
+        }
+        this.alphabetSize = columns;
+
+        // Build the keyword trie; -1 marks a missing edge
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(newRow());
+        outputs.add(new ArrayList<>());
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = keywords.get(id);
+            if (keyword.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                int column = column(keyword.charAt(i));
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(newRow());
+                    outputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[column];
+            }
+            outputs.get(state).add(id);
+        }
+
+        // Breadth-first: resolve missing edges through failure links and
+        // inherit the matches of each state's failure state
+        int states = trie.size();
+        int[] failure = new int[states];
+        this.transitions = new int[states * alphabetSize];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < alphabetSize; column++) {
+            int child = trie.get(ROOT)[column];
+            if (child > 0) {
+                failure[child] = ROOT;
+                transitions[column] = child;
+                queue.add(child);
+            } else {
+                transitions[column] = ROOT;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs.get(state).addAll(outputs.get(failure[state]));
+            for (int column = 0; column < alphabetSize; column++) {
+                int child = trie.get(state)[column];
+                if (child > 0) {
+                    failure[child] = transitions[failure[state] * alphabetSize + column];
+                    transitions[state * alphabetSize + column] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * alphabetSize + column] = transitions[failure[state] * alphabetSize + column];
+                }
+            }
+        }
+
+        this.matches = new int[states][];
+        for (int state = 0; state < states; state++) {
+            List<Integer> ids = outputs.get(state);
+            matches[state] = ids.isEmpty() ? NO_MATCHES : ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public int next(int state, char c) {
+        return transitions[state * alphabetSize + column(c)];
+    }
+
+    // Ids of the keywords ending at the character that led to this state
+    public int[] matches(int state) {
+        return matches[state];
+    }
+
+    public int stateCount() {
+        return matches.length;
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiColumns[c];
+        }
+        Integer column = otherColumns.get(c);
+        return column != null ? column : 0;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
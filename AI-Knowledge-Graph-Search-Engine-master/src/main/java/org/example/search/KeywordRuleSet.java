@@ -0,0 +1,151 @@
+package org.example.search;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Keyword rules compiled into one {@link KeywordAutomaton}. Rules are read from
+ * properties of the form
+ * <pre>
+ * &lt;dimension&gt;.&lt;rank&gt;.&lt;label&gt; = keyword, another keyword, ...
+ * </pre>
+ * A text gets, per dimension, the label of the lowest-ranked rule with a
+ * keyword occurring anywhere in it. Every dimension is decided in the same pass.
+ * Dimensions given a set of allowed labels, e.g. the names of an enum, drop
+ * rules with any other label when the rules are loaded.
+ */
+public final class KeywordRuleSet {
+    public static final String DEFAULT_RESOURCE = "ai-rules.properties";
+
+    private final List<String> dimensions = new ArrayList<>();
+    // Per keyword id: owning dimension index, rule rank and label
+    private final int[] keywordDimensions;
+    private final int[] keywordRanks;
+    private final String[] keywordLabels;
+    private final KeywordAutomaton automaton;
+
+    private KeywordRuleSet(Properties rules, Map<String, Set<String>> allowedLabels) {
+        List<String> keywords = new ArrayList<>();
+        List<int[]> owners = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+
+        for (String key : rules.stringPropertyNames()) {
+            String[] parts = key.split("\\.", 3);
+            if (parts.length != 3) {
+                System.err.println("❌ Ignoring malformed rule key: " + key);
+                continue;
+            }
+            int rank;
+            try {
+                rank = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                System.err.println("❌ Ignoring rule with non-numeric rank: " + key);
+                continue;
+            }
+            String label = parts[2].trim();
+            Set<String> allowed = allowedLabels.get(parts[0]);
+            if (allowed != null && !allowed.contains(label)) {
+                System.err.println("❌ Ignoring rule with unknown " + parts[0] + " label: " + key);
+                continue;
+            }
+
+            int dimension = dimensions.indexOf(parts[0]);
+            if (dimension < 0) {
+                dimension = dimensions.size();
+                dimensions.add(parts[0]);
+            }
+            for (String keyword : rules.getProperty(key).split(",")) {
+                // Matching runs on lower-cased text
+                String normalized = keyword.trim().toLowerCase();
+                if (!normalized.isEmpty()) {
+                    keywords.add(normalized);
+                    owners.add(new int[] { dimension, rank });
+                    labels.add(label);
+                }
+            }
+        }
+
+        this.keywordDimensions = owners.stream().mapToInt(owner -> owner[0]).toArray();
+        this.keywordRanks = owners.stream().mapToInt(owner -> owner[1]).toArray();
+        this.keywordLabels = labels.toArray(new String[0]);
+        this.automaton = new KeywordAutomaton(keywords);
+    }
+
+    public static KeywordRuleSet fromProperties(Properties rules) {
+        return new KeywordRuleSet(rules, Map.of());
+    }
+
+    public static KeywordRuleSet fromProperties(Properties rules, Map<String, Set<String>> allowedLabels) {
+        return new KeywordRuleSet(rules, allowedLabels);
+    }
+
+    public static KeywordRuleSet load(String resource) {
+        return load(resource, Map.of());
+    }
+
+    // Loads rules from the classpath, an unreadable resource yields no rules
+    public static KeywordRuleSet load(String resource, Map<String, Set<String>> allowedLabels) {
+        Properties rules = new Properties();
+        try (InputStream input = KeywordRuleSet.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input != null) {
+                rules.load(input);
+            } else {
+                System.err.println("❌ Rule file not found: " + resource);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error loading rules from " + resource + ": " + e.getMessage());
+        }
+
+        KeywordRuleSet ruleSet = new KeywordRuleSet(rules, allowedLabels);
+        System.out.println("✅ Loaded " + ruleSet.keywordLabels.length + " rule keywords from " + resource);
+        return ruleSet;
+    }
+
+    /**
+     * Runs the automaton once over the tokenizer's lower-cased text and returns
+     * the winning label of every dimension.
+     */
+    public Result evaluate(Tokenizer text) {
+        int[] bestKeyword = new int[dimensions.size()];
+        Arrays.fill(bestKeyword, -1);
+
+        char[] chars = text.text();
+        int length = text.textLength();
+        int state = KeywordAutomaton.ROOT;
+        for (int i = 0; i < length; i++) {
+            state = automaton.next(state, chars[i]);
+            for (int keyword : automaton.matches(state)) {
+                int dimension = keywordDimensions[keyword];
+                int best = bestKeyword[dimension];
+                if (best < 0 || keywordRanks[keyword] < keywordRanks[best]) {
+                    bestKeyword[dimension] = keyword;
+                }
+            }
+        }
+        return new Result(bestKeyword);
+    }
+
+    // Winning labels of one evaluation
+    public final class Result {
+        private final int[] bestKeyword;
+
+        private Result(int[] bestKeyword) {
+            this.bestKeyword = bestKeyword;
+        }
+
+        // Label of the matching rule, or defaultLabel if no keyword matched
+        public String label(String dimension, String defaultLabel) {
+            int index = dimensions.indexOf(dimension);
+            if (index < 0 || bestKeyword[index] < 0) {
+                return defaultLabel;
+            }
+            return keywordLabels[bestKeyword[index]];
+        }
+    }
+}
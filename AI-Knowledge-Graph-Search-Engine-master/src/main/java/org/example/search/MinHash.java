@@ -0,0 +1,74 @@
+package org.example.search;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures over the word sets of ticket text. The share of equal
+ * positions in two signatures estimates the Jaccard similarity of the sets.
+ */
+public final class MinHash {
+    public static final int SIGNATURE_LENGTH = 128;
+
+    // Per-position seeds, fixed so persisted signatures stay comparable
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] signature(String title, String description) {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        update(signature, Tokenizer.forThread().reset(title, description));
+        return signature;
+    }
+
+    // True when the text had no terms, such signatures match each other trivially
+    public static boolean isEmpty(int[] signature) {
+        return signature == null || signature[0] == Integer.MAX_VALUE;
+    }
+
+    // Estimated Jaccard similarity in [0, 1]
+    public static double similarity(int[] a, int[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0.0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static void update(int[] signature, Tokenizer tokens) {
+        for (int t = 0; t < tokens.size(); t++) {
+            if (tokens.length(t) < 2) {
+                continue;
+            }
+            long base = tokens.hash(t);
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                // Keep the high bits, they are the best mixed
+                int h = (int) (mix(base ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,317 @@
+package org.example.search;
+
+import org.example.model.Ticket;
+import org.example.repository.TicketChangeJournal;
+import org.example.repository.TicketChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead over the words of ticket and knowledge base titles. Words sit in
+ * a prefix trie weighted by how many titles use them, and every node keeps
+ * its best TOP_K completions, so a lookup costs the prefix length plus TOP_K
+ * whatever the vocabulary size. Recent prefixes are answered from a small LRU
+ * cache that is dropped on every write.
+ * <p>
+ * New tickets add their title words as they are created. Edits and deletes
+ * are not subtracted; their words linger until the next {@link #rebuild}.
+ */
+public class TermSuggester implements TicketChangeListener {
+    private static final int TOP_K = 8;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int CACHE_SIZE = 256;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, List<String>> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private Node root = new Node();
+    private int terms;
+    // Tickets created while a rebuild reads its titles, replayed once it is swapped in
+    private TicketChangeJournal journal;
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Replaces the vocabulary with the words of these titles, keeping tickets created while they are read
+    public synchronized void rebuild(Iterable<String> titles) {
+        TicketChangeJournal changes = new TicketChangeJournal();
+        lock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        try {
+            for (String title : titles) {
+                for (String term : termsOf(title, seen)) {
+                    weights.merge(term, 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Node built = new Node();
+        weights.forEach((term, weight) -> {
+            Node node = built.descend(term, true);
+            node.term = term;
+            node.weight = weight;
+        });
+        built.computeTop();
+
+        lock.writeLock().lock();
+        try {
+            root = built;
+            terms = weights.size();
+            changes.replay(this);
+            loaded = true;
+            synchronized (cache) {
+                cache.clear();
+            }
+            System.out.println("✅ Type-ahead index built: " + terms + " terms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addTitle(String title) {
+        List<String> newTerms = termsOf(title, new HashSet<>());
+        if (newTerms.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String term : newTerms) {
+                increment(term);
+            }
+            synchronized (cache) {
+                cache.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        if (ticket == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.ticketCreated(ticket);
+            }
+            addTitle(ticket.getTitle());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit (at most TOP_K) words starting with prefix, most used first.
+     * The prefix is matched case-insensitively.
+     */
+    public List<String> complete(String prefix, int limit) {
+        if (prefix == null) {
+            return List.of();
+        }
+        String key = prefix.toLowerCase();
+        if (key.length() < MIN_TERM_LENGTH) {
+            return List.of();
+        }
+
+        List<String> completions;
+        synchronized (cache) {
+            completions = cache.get(key);
+        }
+        if (completions == null) {
+            lock.readLock().lock();
+            try {
+                Node node = root.descend(key, false);
+                completions = new ArrayList<>(node == null ? 0 : node.top.length);
+                if (node != null) {
+                    for (Node top : node.top) {
+                        completions.add(top.term);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            completions = List.copyOf(completions);
+            synchronized (cache) {
+                cache.put(key, completions);
+            }
+        }
+        return completions.size() <= limit ? completions : completions.subList(0, limit);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock; the word's weight only grows, so it can only move up the top lists
+    private void increment(String term) {
+        Node node = root;
+        List<Node> path = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            node = node.child(term.charAt(i), true);
+            path.add(node);
+        }
+        if (node.weight == 0) {
+            terms++;
+        }
+        node.term = term;
+        node.weight++;
+        for (int i = MIN_TERM_LENGTH - 1; i < path.size(); i++) {
+            path.get(i).offer(node);
+        }
+    }
+
+    // Distinct words of a title worth suggesting
+    private static List<String> termsOf(String title, Set<String> seen) {
+        seen.clear();
+        List<String> result = new ArrayList<>();
+        if (title == null) {
+            return result;
+        }
+        Tokenizer tokenizer = Tokenizer.forThread().reset(title);
+        for (int i = 0; i < tokenizer.size(); i++) {
+            int length = tokenizer.length(i);
+            if (length < MIN_TERM_LENGTH || length > MAX_TERM_LENGTH) {
+                continue;
+            }
+            String term = tokenizer.token(i);
+            if (!isNumber(term) && seen.add(term)) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNumber(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isDigit(term.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Orders by weight, then alphabetically
+    private static int compare(Node a, Node b) {
+        int byWeight = Integer.compare(b.weight, a.weight);
+        return byWeight != 0 ? byWeight : a.term.compareTo(b.term);
+    }
+
+    private static final class Node {
+        // Children sorted by key for binary search
+        char[] keys = NO_KEYS;
+        Node[] children = NO_NODES;
+        String term;
+        int weight;
+        // Best completions in this subtree, best first
+        Node[] top = NO_NODES;
+
+        Node child(char key, boolean create) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            if (!create) {
+                return null;
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        Node descend(String path, boolean create) {
+            Node node = this;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.child(path.charAt(i), create);
+            }
+            return node;
+        }
+
+        // Fills top bottom-up from the children's lists, which already hold their subtrees' best
+        void computeTop() {
+            List<Node> candidates = new ArrayList<>();
+            if (weight > 0) {
+                candidates.add(this);
+            }
+            for (Node child : children) {
+                child.computeTop();
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(TermSuggester::compare);
+            top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_NODES);
+        }
+
+        // Re-places a word whose weight just grew
+        void offer(Node word) {
+            int existing = -1;
+            for (int i = 0; i < top.length; i++) {
+                if (top[i] == word) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing < 0) {
+                if (top.length == TOP_K && compare(word, top[TOP_K - 1]) >= 0) {
+                    return;
+                }
+                top = Arrays.copyOf(top, Math.min(TOP_K, top.length + 1));
+                existing = top.length - 1;
+                top[existing] = word;
+            }
+            // Bubble up to its place
+            for (int i = existing; i > 0 && compare(top[i], top[i - 1]) < 0; i--) {
+                Node swap = top[i];
+                top[i] = top[i - 1];
+                top[i - 1] = swap;
+            }
+        }
+    }
+}
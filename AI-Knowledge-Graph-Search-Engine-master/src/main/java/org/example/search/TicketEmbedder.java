@@ -0,0 +1,112 @@
+package org.example.search;
+
+import org.example.model.Ticket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hashed TF-IDF embedding of ticket title and description. Terms are hashed
+ * into a fixed number of signed buckets, so no vocabulary has to be kept; the
+ * document frequencies used for IDF are tracked per hash slot as well.
+ * Not thread-safe, callers synchronize.
+ */
+public class TicketEmbedder {
+    public static final int DIMENSION = 256;
+
+    // Slots for document-frequency counters, a power of two
+    private static final int DF_SLOTS = 1 << 18;
+    // Title terms count double, titles are short and carry most of the intent
+    private static final float TITLE_WEIGHT = 2.0f;
+
+    private final int[] documentFrequency = new int[DF_SLOTS];
+    private int documents;
+
+    /**
+     * Records the distinct terms of a ticket for IDF. Returns the counter
+     * slots it incremented, to hand back to {@link #forget} when the ticket's
+     * text changes or it is deleted.
+     */
+    public int[] observe(Ticket ticket) {
+        Map<Integer, Float> frequencies = termFrequencies(ticket);
+        int[] slots = new int[frequencies.size()];
+        int i = 0;
+        for (int hash : frequencies.keySet()) {
+            slots[i] = hash & (DF_SLOTS - 1);
+            documentFrequency[slots[i++]]++;
+        }
+        documents++;
+        return slots;
+    }
+
+    // Undoes one observe call
+    public void forget(int[] slots) {
+        for (int slot : slots) {
+            documentFrequency[slot]--;
+        }
+        documents--;
+    }
+
+    /**
+     * Returns an L2-normalized vector, or null when the ticket has no usable
+     * terms. The same ticket text always yields the same vector for a given
+     * set of observed documents.
+     */
+    public float[] embed(Ticket ticket) {
+        Map<Integer, Float> frequencies = termFrequencies(ticket);
+        if (frequencies.isEmpty()) {
+            return null;
+        }
+
+        float[] vector = new float[DIMENSION];
+        for (Map.Entry<Integer, Float> entry : frequencies.entrySet()) {
+            int hash = entry.getKey();
+            int df = documentFrequency[hash & (DF_SLOTS - 1)];
+            float idf = (float) Math.log((documents + 1.0) / (df + 1.0)) + 1.0f;
+            float weight = (1.0f + (float) Math.log(entry.getValue())) * idf;
+
+            // Top bit picks the sign so bucket collisions tend to cancel out
+            int bucket = (hash >>> 8) & (DIMENSION - 1);
+            vector[bucket] += hash < 0 ? -weight : weight;
+        }
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            return null;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    private Map<Integer, Float> termFrequencies(Ticket ticket) {
+        Map<Integer, Float> frequencies = new HashMap<>();
+        Tokenizer tokenizer = Tokenizer.forThread();
+        addTerms(frequencies, tokenizer.reset(ticket.getTitle()), TITLE_WEIGHT);
+        addTerms(frequencies, tokenizer.reset(ticket.getDescription()), 1.0f);
+        return frequencies;
+    }
+
+    private static void addTerms(Map<Integer, Float> frequencies, Tokenizer tokens, float weight) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.length(i) > 1) {
+                frequencies.merge(mix(tokens.hash(i)), weight, Float::sum);
+            }
+        }
+    }
+
+    // Murmur3 finalizer, spreads String.hashCode over all bits
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
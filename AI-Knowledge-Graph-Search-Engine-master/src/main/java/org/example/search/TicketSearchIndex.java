@@ -0,0 +1,366 @@
+package org.example.search;
+
+import org.example.model.Ticket;
+import org.example.repository.TicketChangeJournal;
+import org.example.repository.TicketChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over ticket title and description with BM25 ranking.
+ * Kept up to date through {@link TicketChangeListener} so that keyword search
+ * never has to scan the :Ticket label in Neo4j. Writes made by other processes
+ * only show up after the next {@link #rebuild}.
+ */
+public class TicketSearchIndex implements TicketChangeListener {
+    // BM25 tuning parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Rebuild postings once this share of documents has been tombstoned
+    private static final double COMPACTION_THRESHOLD = 0.25;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Index state, guarded by lock; rebuild swaps in freshly built copies
+    private TreeMap<String, Postings> postings = new TreeMap<>();
+    private Map<String, Integer> docIdsByTicket = new HashMap<>();
+    private List<String> ticketIds = new ArrayList<>();
+    private List<Postings[]> docPostings = new ArrayList<>();
+    private BitSet deleted = new BitSet();
+    private int[] docLengths = new int[1024];
+    private long totalLength;
+    private int liveDocs;
+    // Writes seen while a rebuild reads its snapshot, replayed once it is swapped in
+    private TicketChangeJournal journal;
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the whole index content, e.g. on first use or on a periodic
+     * refresh. The tickets are indexed into a fresh copy without holding the
+     * lock, so writers are not blocked by a slow database cursor; writes that
+     * arrive meanwhile are replayed on the new copy before it is swapped in.
+     */
+    public synchronized void rebuild(Iterable<Ticket> tickets) {
+        TicketChangeJournal changes = new TicketChangeJournal();
+        lock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TicketSearchIndex fresh = new TicketSearchIndex();
+        try {
+            for (Ticket ticket : tickets) {
+                fresh.addDocument(ticket);
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = fresh.postings;
+            docIdsByTicket = fresh.docIdsByTicket;
+            ticketIds = fresh.ticketIds;
+            docPostings = fresh.docPostings;
+            deleted = fresh.deleted;
+            docLengths = fresh.docLengths;
+            totalLength = fresh.totalLength;
+            liveDocs = fresh.liveDocs;
+            changes.replay(this);
+            loaded = true;
+            System.out.println("✅ Ticket search index built: " + liveDocs + " tickets, " + postings.size() + " terms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Ticket ticket) {
+        if (ticket == null || ticket.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.ticketUpdated(ticket);
+            }
+            removeDocument(ticket.getId());
+            addDocument(ticket);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String ticketId) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.ticketDeleted(ticketId);
+            }
+            removeDocument(ticketId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        upsert(ticket);
+    }
+
+    @Override
+    public void ticketUpdated(Ticket ticket) {
+        upsert(ticket);
+    }
+
+    @Override
+    public void ticketDeleted(String ticketId) {
+        remove(ticketId);
+    }
+
+    /**
+     * Ranks tickets against the query with BM25. The last query term is treated
+     * as a prefix so results stay useful while the user is still typing.
+     */
+    public SearchResult search(String query, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return new SearchResult(Collections.emptyList(), 0);
+            }
+
+            double avgLength = (double) totalLength / liveDocs;
+            Map<Integer, Double> scores = new HashMap<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                if (i == terms.size() - 1) {
+                    SortedMap<String, Postings> matches = postings.subMap(term, term + Character.MAX_VALUE);
+                    for (Postings list : matches.values()) {
+                        accumulate(list, avgLength, scores);
+                    }
+                } else {
+                    Postings list = postings.get(term);
+                    if (list != null) {
+                        accumulate(list, avgLength, scores);
+                    }
+                }
+            }
+
+            // Keep only the best `limit` documents in a min-heap
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(
+                    Math.min(limit, scores.size()) + 1, Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            String[] ranked = new String[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = ticketIds.get(top.poll().getKey());
+            }
+            return new SearchResult(Arrays.asList(ranked), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(Postings list, double avgLength, Map<Integer, Double> scores) {
+        int docFrequency = list.liveCount;
+        if (docFrequency == 0) {
+            return;
+        }
+        double idf = Math.log(1.0 + (liveDocs - docFrequency + 0.5) / (docFrequency + 0.5));
+
+        for (int i = 0; i < list.size; i++) {
+            int docId = list.docIds[i];
+            if (deleted.get(docId)) {
+                continue;
+            }
+            int tf = list.frequencies[i];
+            double norm = K1 * (1 - B + B * docLengths[docId] / avgLength);
+            double score = idf * (tf * (K1 + 1)) / (tf + norm);
+            scores.merge(docId, score, Double::sum);
+        }
+    }
+
+    private void addDocument(Ticket ticket) {
+        List<String> tokens = terms(ticket.getTitle(), ticket.getDescription());
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        int docId = ticketIds.size();
+        ticketIds.add(ticket.getId());
+        docIdsByTicket.put(ticket.getId(), docId);
+        if (docId >= docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+        }
+        docLengths[docId] = tokens.size();
+        totalLength += tokens.size();
+        liveDocs++;
+
+        Postings[] terms = new Postings[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings list = postings.computeIfAbsent(entry.getKey(), k -> new Postings());
+            list.add(docId, entry.getValue());
+            terms[i++] = list;
+        }
+        docPostings.add(terms);
+    }
+
+    private void removeDocument(String ticketId) {
+        Integer docId = docIdsByTicket.remove(ticketId);
+        if (docId == null) {
+            return;
+        }
+        deleted.set(docId);
+        totalLength -= docLengths[docId];
+        liveDocs--;
+
+        // Keep per-term document frequencies accurate for IDF
+        for (Postings list : docPostings.get(docId)) {
+            list.liveCount--;
+        }
+        docPostings.set(docId, null);
+    }
+
+    private void compactIfNeeded() {
+        int totalDocs = ticketIds.size();
+        if (totalDocs < 1024 || deleted.cardinality() < totalDocs * COMPACTION_THRESHOLD) {
+            return;
+        }
+
+        int[] remap = new int[totalDocs];
+        List<String> liveIds = new ArrayList<>(liveDocs);
+        List<Postings[]> liveTerms = new ArrayList<>(liveDocs);
+        int[] liveLengths = new int[Math.max(1024, liveDocs * 2)];
+        for (int docId = 0; docId < totalDocs; docId++) {
+            if (deleted.get(docId)) {
+                remap[docId] = -1;
+            } else {
+                remap[docId] = liveIds.size();
+                liveLengths[liveIds.size()] = docLengths[docId];
+                liveIds.add(ticketIds.get(docId));
+                liveTerms.add(docPostings.get(docId));
+            }
+        }
+
+        postings.values().removeIf(list -> list.compact(remap));
+        ticketIds.clear();
+        ticketIds.addAll(liveIds);
+        docPostings.clear();
+        docPostings.addAll(liveTerms);
+        docIdsByTicket.clear();
+        for (int i = 0; i < liveIds.size(); i++) {
+            docIdsByTicket.put(liveIds.get(i), i);
+        }
+        docLengths = liveLengths;
+        deleted.clear();
+    }
+
+    // Indexed terms are tokens of two or more characters
+    private static List<String> terms(String... parts) {
+        Tokenizer tokenizer = Tokenizer.forThread().reset(parts);
+        List<String> terms = new ArrayList<>(tokenizer.size());
+        for (int i = 0; i < tokenizer.size(); i++) {
+            if (tokenizer.length(i) > 1) {
+                terms.add(tokenizer.token(i));
+            }
+        }
+        return terms;
+    }
+
+    // Append-only posting list, doc ids are always increasing
+    private static class Postings {
+        private int[] docIds = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int liveCount;
+
+        void add(int docId, int frequency) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+            liveCount++;
+        }
+
+        // Returns true when the list has become empty and can be dropped
+        boolean compact(int[] remap) {
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                int mapped = remap[docIds[read]];
+                if (mapped >= 0) {
+                    docIds[write] = mapped;
+                    frequencies[write] = frequencies[read];
+                    write++;
+                }
+            }
+            size = write;
+            liveCount = write;
+            return size == 0;
+        }
+    }
+
+    public static class SearchResult {
+        private final List<String> ticketIds;
+        private final int totalHits;
+
+        public SearchResult(List<String> ticketIds, int totalHits) {
+            this.ticketIds = ticketIds;
+            this.totalHits = totalHits;
+        }
+
+        public List<String> getTicketIds() {
+            return ticketIds;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+    }
+}
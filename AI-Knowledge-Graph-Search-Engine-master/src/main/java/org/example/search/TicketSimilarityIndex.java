@@ -0,0 +1,230 @@
+package org.example.search;
+
+import org.example.model.Ticket;
+import org.example.repository.TicketChangeJournal;
+import org.example.repository.TicketChangeListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Approximate nearest-neighbour index of ticket embeddings, used to find
+ * tickets similar to a given one without scanning the database.
+ */
+public class TicketSimilarityIndex implements TicketChangeListener {
+    // Candidate list size for queries, higher means better recall but slower
+    private static final int EF_SEARCH = 64;
+
+    // Rebuild the graph from live vectors once this share of its nodes are tombstones
+    private static final double COMPACTION_THRESHOLD = 0.25;
+    private static final int COMPACTION_MIN_NODES = 1024;
+
+    private final Object lock = new Object();
+    private TicketEmbedder embedder = new TicketEmbedder();
+    private HnswIndex graph = new HnswIndex(TicketEmbedder.DIMENSION);
+    private Map<String, Integer> nodesByTicket = new HashMap<>();
+    private List<String> ticketIds = new ArrayList<>();
+    // Hash of the embedded text per node, status-only updates keep their vector
+    private List<Integer> textHashes = new ArrayList<>();
+    // Document-frequency slots each ticket added to the embedder, given back when its text goes away
+    private Map<String, int[]> observedSlots = new HashMap<>();
+    // Writes seen while a rebuild reads its corpus, replayed once it is swapped in
+    private TicketChangeJournal journal;
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Rebuilds from scratch. The corpus is read twice, once to collect document
+     * frequencies and once to embed, so each call must return a fresh stream.
+     * The new graph is built without holding the lock; writes that arrive
+     * meanwhile are replayed on it once it is swapped in.
+     */
+    public synchronized void rebuild(Supplier<Stream<Ticket>> corpus) {
+        TicketChangeJournal changes = new TicketChangeJournal();
+        synchronized (lock) {
+            journal = changes;
+        }
+
+        TicketSimilarityIndex fresh = new TicketSimilarityIndex();
+        try {
+            try (Stream<Ticket> tickets = corpus.get()) {
+                tickets.forEach(ticket -> fresh.observedSlots.put(ticket.getId(), fresh.embedder.observe(ticket)));
+            }
+            try (Stream<Ticket> tickets = corpus.get()) {
+                tickets.forEach(fresh::addTicket);
+            }
+        } finally {
+            synchronized (lock) {
+                journal = null;
+            }
+        }
+
+        synchronized (lock) {
+            embedder = fresh.embedder;
+            graph = fresh.graph;
+            nodesByTicket = fresh.nodesByTicket;
+            ticketIds = fresh.ticketIds;
+            textHashes = fresh.textHashes;
+            observedSlots = fresh.observedSlots;
+            changes.replay(this);
+            loaded = true;
+            System.out.println("✅ Ticket similarity index built: " + graph.size() + " tickets");
+        }
+    }
+
+    public void upsert(Ticket ticket) {
+        if (ticket == null || ticket.getId() == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (journal != null) {
+                journal.ticketUpdated(ticket);
+            }
+            Integer node = nodesByTicket.get(ticket.getId());
+            if (node != null && textHashes.get(node) == textHash(ticket)) {
+                return;
+            }
+            removeTicket(ticket.getId());
+            observedSlots.put(ticket.getId(), embedder.observe(ticket));
+            addTicket(ticket);
+            compactIfNeeded();
+        }
+    }
+
+    public void remove(String ticketId) {
+        synchronized (lock) {
+            if (journal != null) {
+                journal.ticketDeleted(ticketId);
+            }
+            removeTicket(ticketId);
+            compactIfNeeded();
+        }
+    }
+
+    @Override
+    public void ticketCreated(Ticket ticket) {
+        upsert(ticket);
+    }
+
+    @Override
+    public void ticketUpdated(Ticket ticket) {
+        upsert(ticket);
+    }
+
+    @Override
+    public void ticketDeleted(String ticketId) {
+        remove(ticketId);
+    }
+
+    /**
+     * Returns the ids of up to k tickets most similar to the given one, best
+     * first, excluding the ticket itself and anything below minSimilarity
+     * (cosine, 0..1).
+     */
+    public List<String> findSimilar(Ticket ticket, int k, double minSimilarity) {
+        List<String> similar = new ArrayList<>();
+        if (ticket == null || k <= 0) {
+            return similar;
+        }
+
+        float[] query;
+        HnswIndex snapshot;
+        List<String> snapshotIds;
+        synchronized (lock) {
+            query = embedder.embed(ticket);
+            snapshot = graph;
+            snapshotIds = ticketIds;
+        }
+        if (query == null) {
+            return similar;
+        }
+
+        // The graph has its own read lock, so queries run concurrently
+        float[] scores = new float[k + 1];
+        int[] nodes = snapshot.search(query, k + 1, EF_SEARCH, scores);
+
+        // A rebuild or compaction meanwhile swaps in a new graph and id list, the snapshot pair stays consistent
+        synchronized (lock) {
+            for (int i = 0; i < nodes.length && similar.size() < k; i++) {
+                if (scores[i] < minSimilarity) {
+                    break;
+                }
+                String id = snapshotIds.get(nodes[i]);
+                if (id != null && !id.equals(ticket.getId())) {
+                    similar.add(id);
+                }
+            }
+        }
+        return similar;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return graph.size();
+        }
+    }
+
+    private void addTicket(Ticket ticket) {
+        float[] vector = embedder.embed(ticket);
+        if (vector == null) {
+            return;
+        }
+        int node = graph.add(vector);
+        while (ticketIds.size() <= node) {
+            ticketIds.add(null);
+            textHashes.add(0);
+        }
+        ticketIds.set(node, ticket.getId());
+        textHashes.set(node, textHash(ticket));
+        nodesByTicket.put(ticket.getId(), node);
+    }
+
+    private void removeTicket(String ticketId) {
+        int[] slots = observedSlots.remove(ticketId);
+        if (slots != null) {
+            embedder.forget(slots);
+        }
+        Integer node = nodesByTicket.remove(ticketId);
+        if (node != null) {
+            graph.remove(node);
+        }
+    }
+
+    // Re-inserts the live vectors into a new graph, dropping the tombstones edits and deletes left behind
+    private void compactIfNeeded() {
+        int nodes = ticketIds.size();
+        if (nodes < COMPACTION_MIN_NODES || graph.deletedCount() < nodes * COMPACTION_THRESHOLD) {
+            return;
+        }
+
+        HnswIndex compacted = new HnswIndex(TicketEmbedder.DIMENSION);
+        List<String> liveIds = new ArrayList<>(nodesByTicket.size());
+        List<Integer> liveHashes = new ArrayList<>(nodesByTicket.size());
+        for (int node = 0; node < nodes; node++) {
+            String id = ticketIds.get(node);
+            if (id == null || graph.isDeleted(node)) {
+                continue;
+            }
+            int newNode = compacted.add(graph.vector(node));
+            liveIds.add(id);
+            liveHashes.add(textHashes.get(node));
+            nodesByTicket.put(id, newNode);
+        }
+        // New lists rather than in-place edits, so searches holding the old graph keep its id mapping
+        graph = compacted;
+        ticketIds = liveIds;
+        textHashes = liveHashes;
+    }
+
+    private static int textHash(Ticket ticket) {
+        return Objects.hash(ticket.getTitle(), ticket.getDescription());
+    }
+}
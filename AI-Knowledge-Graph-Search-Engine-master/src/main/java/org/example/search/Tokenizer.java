@@ -0,0 +1,160 @@
+package org.example.search;
+
+import java.util.Arrays;
+
+/**
+ * Streaming tokenizer over one or more text parts. The parts are copied once,
+ * lower-cased, into a reusable char buffer and split into runs of letters and
+ * digits whose offsets land in reusable int arrays, so tokenizing does not
+ * allocate once the buffers have grown. Tokens are only turned into Strings on
+ * request.
+ * <p>
+ * Instances are not thread-safe. {@link #forThread()} hands out one instance
+ * per thread; do not hold it across calls that may tokenize again.
+ */
+public final class Tokenizer {
+    private static final ThreadLocal<Tokenizer> PER_THREAD = ThreadLocal.withInitial(Tokenizer::new);
+
+    private char[] text = new char[256];
+    private int length;
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int count;
+
+    public static Tokenizer forThread() {
+        return PER_THREAD.get();
+    }
+
+    // Null parts are skipped, parts are separated by a single space
+    public Tokenizer reset(String... parts) {
+        return load(parts, false);
+    }
+
+    /**
+     * Like {@link #reset}, but first drops every character that is not an
+     * ASCII letter, digit or whitespace, so "don't" yields "dont" and
+     * "e-mail" yields "email". This is the word normalization AIService
+     * keyword extraction and similarity have always used.
+     */
+    public Tokenizer resetWords(String... parts) {
+        return load(parts, true);
+    }
+
+    private Tokenizer load(String[] parts, boolean asciiWordsOnly) {
+        length = 0;
+        count = 0;
+        for (String part : parts) {
+            if (part == null) {
+                continue;
+            }
+            if (length > 0) {
+                append(' ');
+            }
+            ensureTextCapacity(length + part.length());
+            for (int i = 0; i < part.length(); i++) {
+                char c = Character.toLowerCase(part.charAt(i));
+                if (!asciiWordsOnly || isAsciiWordChar(c) || isAsciiWhitespace(c)) {
+                    text[length++] = c;
+                }
+            }
+        }
+        scan();
+        return this;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int start(int token) {
+        return starts[token];
+    }
+
+    public int length(int token) {
+        return ends[token] - starts[token];
+    }
+
+    // Lower-cased text of all parts, valid up to textLength()
+    public char[] text() {
+        return text;
+    }
+
+    public int textLength() {
+        return length;
+    }
+
+    public String token(int token) {
+        return new String(text, starts[token], ends[token] - starts[token]);
+    }
+
+    // Same value as token(i).hashCode(), without creating the String
+    public int hash(int token) {
+        int h = 0;
+        for (int i = starts[token]; i < ends[token]; i++) {
+            h = 31 * h + text[i];
+        }
+        return h;
+    }
+
+    // Substring match on the lower-cased text, the needle must be lower case
+    public boolean contains(String needle) {
+        int last = length - needle.length();
+        outer:
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (text[i + j] != needle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void scan() {
+        int tokenStart = -1;
+        for (int i = 0; i < length; i++) {
+            if (Character.isLetterOrDigit(text[i])) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                addToken(tokenStart, i);
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) {
+            addToken(tokenStart, length);
+        }
+    }
+
+    private static boolean isAsciiWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    // The characters regex \s matches
+    private static boolean isAsciiWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private void addToken(int start, int end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+
+    private void append(char c) {
+        ensureTextCapacity(length + 1);
+        text[length++] = c;
+    }
+
+    private void ensureTextCapacity(int required) {
+        if (required > text.length) {
+            text = Arrays.copyOf(text, Math.max(required, text.length * 2));
+        }
+    }
+}
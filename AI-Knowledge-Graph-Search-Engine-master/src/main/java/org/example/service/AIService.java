@@ -1,36 +1,63 @@
 package org.example.service;
 
+import org.example.config.AppConfig;
 import org.example.model.Ticket;
 import org.example.model.KnowledgeBase;
 import org.example.model.enums.Priority;
 import org.example.model.enums.Severity;
+import org.example.search.KeywordRuleSet;
+import org.example.search.Tokenizer;
 
 import java.util.*;
 
 public class AIService {
+    // Rule dimensions in the rule table
+    private static final String CLASSIFICATION = "classification";
+    private static final String PRIORITY = "priority";
+    private static final String SEVERITY = "severity";
+
+    private static volatile KeywordRuleSet rules;
 
     public AIService() {
     }
 
+    // Compiled once per application from the configured rule table
+    private static KeywordRuleSet rules() {
+        KeywordRuleSet loaded = rules;
+        if (loaded == null) {
+            synchronized (AIService.class) {
+                loaded = rules;
+                if (loaded == null) {
+                    String resource = AppConfig.getInstance().getProperty("ai.rules.file", KeywordRuleSet.DEFAULT_RESOURCE);
+                    // Priority and severity labels are parsed into enums, so reject typos up front
+                    loaded = KeywordRuleSet.load(resource, Map.of(
+                            PRIORITY, labelsOf(Priority.values()),
+                            SEVERITY, labelsOf(Severity.values())));
+                    rules = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Set<String> labelsOf(Enum<?>[] values) {
+        Set<String> labels = new HashSet<>();
+        for (Enum<?> value : values) {
+            labels.add(value.name());
+        }
+        return labels;
+    }
+
     public String classifyTicket(String text) {
         return classifyTicket(text, "");
     }
 
     public String classifyTicket(String title, String description) {
-        String text = (title + " " + description).toLowerCase();
-
-        // Simple keyword-based classification
-        if (text.contains("bug") || text.contains("error") || text.contains("crash")) {
-            return "BUG";
-        } else if (text.contains("feature") || text.contains("enhancement") || text.contains("improve")) {
-            return "FEATURE_REQUEST";
-        } else if (text.contains("question") || text.contains("how to") || text.contains("help")) {
-            return "QUESTION";
-        } else if (text.contains("urgent") || text.contains("critical") || text.contains("down")) {
-            return "INCIDENT";
-        }
+        return classify(rules().evaluate(Tokenizer.forThread().reset(title, description)));
+    }
 
-        return "GENERAL";
+    private String classify(KeywordRuleSet.Result rules) {
+        return rules.label(CLASSIFICATION, "GENERAL");
     }
 
     public Priority suggestPriority(String text) {
@@ -38,34 +65,19 @@ public class AIService {
     }
 
     public Priority suggestPriority(String title, String description) {
-        String text = (title + " " + description).toLowerCase();
-
-        // Priority keywords
-        if (text.contains("critical") || text.contains("urgent") || text.contains("production down") ||
-                text.contains("security") || text.contains("data loss")) {
-            return Priority.CRITICAL;
-        } else if (text.contains("high") || text.contains("important") || text.contains("asap") ||
-                text.contains("blocking")) {
-            return Priority.HIGH;
-        } else if (text.contains("low") || text.contains("minor") || text.contains("cosmetic")) {
-            return Priority.LOW;
-        }
+        return priority(rules().evaluate(Tokenizer.forThread().reset(title, description)));
+    }
 
-        return Priority.MEDIUM;
+    private Priority priority(KeywordRuleSet.Result rules) {
+        return Priority.valueOf(rules.label(PRIORITY, Priority.MEDIUM.name()));
     }
 
     public Severity suggestSeverity(String title, String description) {
-        String text = (title + " " + description).toLowerCase();
-
-        if (text.contains("blocker") || text.contains("cannot") || text.contains("unable to")) {
-            return Severity.BLOCKER;
-        } else if (text.contains("major") || text.contains("significant") || text.contains("important")) {
-            return Severity.MAJOR;
-        } else if (text.contains("minor") || text.contains("small") || text.contains("cosmetic")) {
-            return Severity.MINOR;
-        }
+        return severity(rules().evaluate(Tokenizer.forThread().reset(title, description)));
+    }
 
-        return Severity.LOW;
+    private Severity severity(KeywordRuleSet.Result rules) {
+        return Severity.valueOf(rules.label(SEVERITY, Severity.LOW.name()));
     }
 
     public String suggestAssignee(Ticket ticket) {
@@ -96,44 +108,61 @@ public class AIService {
     }
 
     public double calculateSimilarity(Ticket ticket1, Ticket ticket2) {
-        // Simple word-based similarity
-        Set<String> words1 = extractWords(ticket1.getTitle() + " " + ticket1.getDescription());
-        Set<String> words2 = extractWords(ticket2.getTitle() + " " + ticket2.getDescription());
-
-        Set<String> intersection = new HashSet<>(words1);
-        intersection.retainAll(words2);
-
-        Set<String> union = new HashSet<>(words1);
-        union.addAll(words2);
+        // Simple word-based similarity, merging sorted word arrays instead of building sets
+        Tokenizer tokenizer = Tokenizer.forThread();
+        String[] words1 = distinctWords(tokenizer.resetWords(ticket1.getTitle(), ticket1.getDescription()));
+        String[] words2 = distinctWords(tokenizer.resetWords(ticket2.getTitle(), ticket2.getDescription()));
+
+        int intersection = 0;
+        int i = 0;
+        int j = 0;
+        while (i < words1.length && j < words2.length) {
+            int order = words1[i].compareTo(words2[j]);
+            if (order == 0) {
+                intersection++;
+                i++;
+                j++;
+            } else if (order < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
 
-        if (union.isEmpty())
+        int union = words1.length + words2.length - intersection;
+        if (union == 0)
             return 0.0;
-        return (double) intersection.size() / union.size();
+        return (double) intersection / union;
     }
 
-    private Set<String> extractWords(String text) {
-        String[] words = text.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "")
-                .split("\\s+");
+    private String[] distinctWords(Tokenizer text) {
+        String[] words = new String[text.size()];
+        int count = 0;
+        for (int i = 0; i < text.size(); i++) {
+            if (text.length(i) > 3) { // Filter out short words
+                words[count++] = text.token(i);
+            }
+        }
+        Arrays.sort(words, 0, count);
 
-        Set<String> wordSet = new HashSet<>();
-        for (String word : words) {
-            if (word.length() > 3) { // Filter out short words
-                wordSet.add(word);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || !words[distinct - 1].equals(words[i])) {
+                words[distinct++] = words[i];
             }
         }
-        return wordSet;
+        return Arrays.copyOf(words, distinct);
     }
 
     public List<String> extractKeywords(String text) {
-        Map<String, Integer> wordFrequency = new HashMap<>();
-        String[] words = text.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "")
-                .split("\\s+");
+        return keywords(Tokenizer.forThread().resetWords(text));
+    }
 
-        for (String word : words) {
-            if (word.length() > 4) { // Only consider longer words
-                wordFrequency.put(word, wordFrequency.getOrDefault(word, 0) + 1);
+    private List<String> keywords(Tokenizer text) {
+        Map<String, Integer> wordFrequency = new HashMap<>();
+        for (int i = 0; i < text.size(); i++) {
+            if (text.length(i) > 4) { // Only consider longer words
+                wordFrequency.merge(text.token(i), 1, Integer::sum);
             }
         }
 
@@ -156,11 +185,15 @@ public class AIService {
     public Map<String, Object> analyzeTicket(Ticket ticket) {
         Map<String, Object> analysis = new HashMap<>();
 
-        analysis.put("classification", classifyTicket(ticket.getTitle(), ticket.getDescription()));
-        analysis.put("suggestedPriority", suggestPriority(ticket.getTitle(), ticket.getDescription()));
-        analysis.put("suggestedSeverity", suggestSeverity(ticket.getTitle(), ticket.getDescription()));
+        // One automaton pass decides all three rule dimensions
+        Tokenizer text = Tokenizer.forThread().reset(ticket.getTitle(), ticket.getDescription());
+        KeywordRuleSet.Result matched = rules().evaluate(text);
+        analysis.put("classification", classify(matched));
+        analysis.put("suggestedPriority", priority(matched));
+        analysis.put("suggestedSeverity", severity(matched));
         analysis.put("suggestedAssignee", suggestAssignee(ticket));
-        analysis.put("keywords", extractKeywords(ticket.getTitle() + " " + ticket.getDescription()));
+        // Keywords keep their own word normalization, which strips punctuation instead of splitting on it
+        analysis.put("keywords", keywords(text.resetWords(ticket.getTitle(), ticket.getDescription())));
         analysis.put("summary", generateSummary(ticket.getDescription()));
 
         return analysis;
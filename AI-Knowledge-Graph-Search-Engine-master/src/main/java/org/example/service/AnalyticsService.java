@@ -1,103 +1,185 @@
 package org.example.service;
 
+import org.example.model.DailyTicketCount;
+import org.example.model.DashboardSnapshot;
 import org.example.model.Ticket;
 import org.example.model.Metric;
 import org.example.model.enums.TicketStatus;
-import org.example.model.enums.Priority;
+import org.example.repository.AsyncTicketRepository;
+import org.example.repository.TicketCounters;
 import org.example.repository.TicketRepository;
+import org.example.repository.ConnectionPoolStats;
 import org.example.repository.MetricRepository;
 import org.example.repository.Neo4jConnection;
+import org.example.repository.QueryCache;
+import org.example.repository.WriteBehindQueue;
 import org.example.util.SecurityUtils;
-import org.neo4j.driver.Record;
-import org.neo4j.driver.Result;
-import org.neo4j.driver.Session;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class AnalyticsService {
+    // Oldest day kept in the trend rollup
+    private static final int MAX_TREND_DAYS = 366;
+
     private final TicketRepository ticketRepository;
+    private final AsyncTicketRepository asyncTicketRepository;
     private final MetricRepository metricRepository;
+    private final Neo4jConnection connection;
+    // Counts for finished days, only today is recounted on refresh
+    private final ConcurrentSkipListMap<LocalDate, DailyTicketCount> trendRollup = new ConcurrentSkipListMap<>();
+    // Bumped by refreshTrend so a count started before it is not folded back into the rollup
+    private final AtomicLong trendGeneration = new AtomicLong();
+
+    public AnalyticsService(TicketRepository ticketRepository, AsyncTicketRepository asyncTicketRepository,
+            MetricRepository metricRepository, Neo4jConnection connection) {
+        this.ticketRepository = ticketRepository;
+        this.asyncTicketRepository = asyncTicketRepository;
+        this.metricRepository = metricRepository;
+        this.connection = connection;
+    }
 
-    public AnalyticsService() {
-        this.ticketRepository = new TicketRepository();
-        this.metricRepository = new MetricRepository();
+    // Served from the in-memory counters once they are loaded; fetch once per refresh and share between views
+    public DashboardSnapshot getDashboardSnapshot() {
+        TicketCounters counters = ticketRepository.getCounters();
+        return counters.isReconciled() ? counters.snapshot() : ticketRepository.aggregateDashboard();
+    }
+
+    // Completes immediately from the counters, or queries without blocking before they are loaded
+    public CompletionStage<DashboardSnapshot> getDashboardSnapshotAsync() {
+        TicketCounters counters = ticketRepository.getCounters();
+        return counters.isReconciled()
+                ? CompletableFuture.completedFuture(counters.snapshot())
+                : asyncTicketRepository.aggregateDashboard();
+    }
+
+    // How stale the counters behind getDashboardSnapshot may be
+    public Map<String, Object> getCounterStatus() {
+        TicketCounters counters = ticketRepository.getCounters();
+        Map<String, Object> status = new HashMap<>();
+        LocalDateTime lastReconciledAt = counters.getLastReconciledAt();
+        status.put("reconciled", counters.isReconciled());
+        status.put("lastReconciledAt", lastReconciledAt == null ? null : lastReconciledAt.toString());
+        status.put("secondsSinceReconcile", lastReconciledAt == null ? -1L
+                : Duration.between(lastReconciledAt, LocalDateTime.now()).getSeconds());
+        status.put("writesSinceReconcile", counters.getWritesSinceReconcile());
+        status.put("lastDrift", counters.getLastDrift());
+        return status;
     }
 
     public Map<String, Object> getDashboardMetrics() {
+        return getDashboardMetrics(getDashboardSnapshot());
+    }
+
+    public Map<String, Object> getDashboardMetrics(DashboardSnapshot snapshot) {
         Map<String, Object> metrics = new HashMap<>();
 
         // Ticket counts
-        metrics.put("totalTickets", ticketRepository.count());
-        metrics.put("openTickets", ticketRepository.countByStatus("OPEN"));
-        metrics.put("inProgressTickets", ticketRepository.countByStatus("IN_PROGRESS"));
-        metrics.put("resolvedTickets", ticketRepository.countByStatus("RESOLVED"));
-        metrics.put("closedTickets", ticketRepository.countByStatus("CLOSED"));
+        metrics.put("totalTickets", snapshot.totalTickets());
+        metrics.put("openTickets", snapshot.count(TicketStatus.OPEN));
+        metrics.put("inProgressTickets", snapshot.count(TicketStatus.IN_PROGRESS));
+        metrics.put("resolvedTickets", snapshot.count(TicketStatus.RESOLVED));
+        metrics.put("closedTickets", snapshot.count(TicketStatus.CLOSED));
 
         // Priority distribution
-        Map<String, Long> priorityDistribution = new HashMap<>();
-        priorityDistribution.put("CRITICAL", ticketRepository.countByPriority(Priority.CRITICAL));
-        priorityDistribution.put("HIGH", ticketRepository.countByPriority(Priority.HIGH));
-        priorityDistribution.put("MEDIUM", ticketRepository.countByPriority(Priority.MEDIUM));
-        priorityDistribution.put("LOW", ticketRepository.countByPriority(Priority.LOW));
-        metrics.put("priorityDistribution", priorityDistribution);
+        metrics.put("priorityDistribution", new HashMap<>(snapshot.byPriority()));
 
         // Performance metrics
-        metrics.put("averageResolutionTime", calculateAverageResolutionTime());
+        metrics.put("averageResolutionTime", snapshot.averageResolutionMinutes());
         metrics.put("averageResponseTime", calculateAverageResponseTime());
-        metrics.put("slaComplianceRate", calculateSLAComplianceRate());
+        metrics.put("slaComplianceRate", snapshot.slaComplianceRate());
 
         return metrics;
     }
 
     public Map<String, Long> getTicketsByStatus() {
-        Map<String, Long> statusCounts = new HashMap<>();
-        statusCounts.put("OPEN", ticketRepository.countByStatus("OPEN"));
-        statusCounts.put("IN_PROGRESS", ticketRepository.countByStatus("IN_PROGRESS"));
-        statusCounts.put("RESOLVED", ticketRepository.countByStatus("RESOLVED"));
-        statusCounts.put("CLOSED", ticketRepository.countByStatus("CLOSED"));
-        statusCounts.put("CANCELLED", ticketRepository.countByStatus("CANCELLED"));
-        return statusCounts;
+        return new HashMap<>(getDashboardSnapshot().byStatus());
     }
 
     public Map<String, Long> getTicketsByPriority() {
-        Map<String, Long> priorityCounts = new HashMap<>();
-        priorityCounts.put("CRITICAL", ticketRepository.countByPriority(Priority.CRITICAL));
-        priorityCounts.put("HIGH", ticketRepository.countByPriority(Priority.HIGH));
-        priorityCounts.put("MEDIUM", ticketRepository.countByPriority(Priority.MEDIUM));
-        priorityCounts.put("LOW", ticketRepository.countByPriority(Priority.LOW));
-        return priorityCounts;
+        return new HashMap<>(getDashboardSnapshot().byPriority());
     }
 
     public Map<String, Long> getTicketsByCategory() {
-        try (Session session = Neo4jConnection.getInstance().getDriver().session()) {
-            String query = "MATCH (t:Ticket) RETURN t.category as category, count(t) as count";
-            Result result = session.run(query);
-            Map<String, Long> distribution = new HashMap<>();
-            while (result.hasNext()) {
-                Record record = result.next();
-                distribution.put(record.get("category").asString(), record.get("count").asLong());
+        return new HashMap<>(getDashboardSnapshot().byCategory());
+    }
+
+    /**
+     * Created and resolved tickets for each of the last {@code days} days,
+     * oldest first and ending today. Finished days are kept in a rollup once
+     * counted, so a refresh only queries today, until {@link #refreshTrend()}
+     * drops them. Resolutions are dated by the ticket's resolvedAt, which
+     * later edits leave alone.
+     */
+    public List<Map<String, Object>> getTicketTrend(int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(Math.max(days, 1) - 1L);
+        long generation = trendGeneration.get();
+        LocalDate queryFrom = trendQueryFrom(firstDay, today);
+        return buildTrend(firstDay, today, queryFrom, generation,
+                ticketRepository.countByDay(queryFrom, today.plusDays(1)));
+    }
+
+    // Same as getTicketTrend without blocking the caller
+    public CompletionStage<List<Map<String, Object>>> getTicketTrendAsync(int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(Math.max(days, 1) - 1L);
+        long generation = trendGeneration.get();
+        LocalDate queryFrom = trendQueryFrom(firstDay, today);
+        return asyncTicketRepository.countByDay(queryFrom, today.plusDays(1))
+                .thenApply(counts -> buildTrend(firstDay, today, queryFrom, generation, counts));
+    }
+
+    /**
+     * Forgets the counted days so the next trend recounts them. Past days
+     * change when an import brings in historical tickets or old tickets are
+     * deleted, neither of which the rollup sees.
+     */
+    public void refreshTrend() {
+        trendGeneration.incrementAndGet();
+        trendRollup.clear();
+    }
+
+    // The oldest day missing from the rollup, or just today
+    private LocalDate trendQueryFrom(LocalDate firstDay, LocalDate today) {
+        for (LocalDate day = firstDay; day.isBefore(today); day = day.plusDays(1)) {
+            if (!trendRollup.containsKey(day)) {
+                return day;
             }
-            return distribution;
-        } catch (Exception e) {
-            System.err.println("Error fetching categories: " + e.getMessage());
-            return new HashMap<>();
         }
+        return today;
     }
 
-    public List<Map<String, Object>> getTicketTrend(int days) {
-        List<Map<String, Object>> trend = new ArrayList<>();
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusDays(days);
+    // Folds the counts fetched from queryFrom into the rollup; null counts (a failed query) or a refresh meanwhile leave it as is
+    private List<Map<String, Object>> buildTrend(LocalDate firstDay, LocalDate today, LocalDate queryFrom,
+            long generation, List<DailyTicketCount> counts) {
+        Map<LocalDate, DailyTicketCount> fetched = new HashMap<>();
+        if (counts != null) {
+            counts.forEach(count -> fetched.put(count.date(), count));
+            if (generation == trendGeneration.get()) {
+                for (LocalDate day = queryFrom; day.isBefore(today); day = day.plusDays(1)) {
+                    trendRollup.put(day, fetched.getOrDefault(day, DailyTicketCount.empty(day)));
+                }
+                trendRollup.headMap(today.minusDays(MAX_TREND_DAYS)).clear();
+            }
+        }
 
-        // Generate daily counts
-        for (int i = 0; i < days; i++) {
-            LocalDateTime date = startDate.plusDays(i);
+        List<Map<String, Object>> trend = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            DailyTicketCount count = day.isBefore(queryFrom) ? trendRollup.get(day) : fetched.get(day);
+            if (count == null) {
+                count = DailyTicketCount.empty(day);
+            }
             Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", date.toLocalDate().toString());
-            dayData.put("created", 0); // Would need date-based query
-            dayData.put("resolved", 0);
+            dayData.put("date", day.toString());
+            dayData.put("created", Math.toIntExact(count.created()));
+            dayData.put("resolved", Math.toIntExact(count.resolved()));
             trend.add(dayData);
         }
 
@@ -105,22 +187,7 @@ public class AnalyticsService {
     }
 
     public double calculateAverageResolutionTime() {
-        List<Ticket> resolvedTickets = ticketRepository.findByStatus(TicketStatus.RESOLVED);
-        if (resolvedTickets.isEmpty())
-            return 0.0;
-
-        long totalMinutes = 0;
-        int count = 0;
-
-        for (Ticket ticket : resolvedTickets) {
-            if (ticket.getCreatedAt() != null && ticket.getUpdatedAt() != null) {
-                long minutes = ChronoUnit.MINUTES.between(ticket.getCreatedAt(), ticket.getUpdatedAt());
-                totalMinutes += minutes;
-                count++;
-            }
-        }
-
-        return count > 0 ? (double) totalMinutes / count : 0.0;
+        return getDashboardSnapshot().averageResolutionMinutes();
     }
 
     public double calculateAverageResponseTime() {
@@ -129,14 +196,7 @@ public class AnalyticsService {
     }
 
     public double calculateSLAComplianceRate() {
-        long totalTickets = ticketRepository.count();
-        if (totalTickets == 0)
-            return 100.0;
-
-        // Simplified calculation - would need actual SLA breach tracking
-        long breachedTickets = 0; // Would need query for breached SLAs
-
-        return ((double) (totalTickets - breachedTickets) / totalTickets) * 100.0;
+        return getDashboardSnapshot().slaComplianceRate();
     }
 
     public Map<String, Double> getAgentPerformanceMetrics() {
@@ -175,6 +235,7 @@ public class AnalyticsService {
         metric.setUnit(unit);
         metric.setTimestamp(LocalDateTime.now());
 
+        // Returns without waiting for the database, the repository batches the write
         metricRepository.save(metric);
     }
 
@@ -185,8 +246,12 @@ public class AnalyticsService {
     }
 
     public double getSystemHealthScore() {
+        return getSystemHealthScore(getDashboardSnapshot());
+    }
+
+    public double getSystemHealthScore(DashboardSnapshot snapshot) {
         // Simplified health score calculation
-        double compliance = calculateSLAComplianceRate();
+        double compliance = snapshot.slaComplianceRate();
         double resolutionRate = 85.0; // Simulated
         return (compliance + resolutionRate) / 2.0;
     }
@@ -194,10 +259,25 @@ public class AnalyticsService {
     public Map<String, Object> getSystemHealth() {
         Map<String, Object> health = new HashMap<>();
 
-        health.put("status", "HEALTHY");
+        ConnectionPoolStats pool = connection.getPoolStats();
+
+        // Callers queuing for a connection means the pool is too small for the load
+        health.put("status", pool.getAcquiring() > 0 || pool.getTimedOutToAcquire() > 0 ? "DEGRADED" : "HEALTHY");
         health.put("uptime", "99.9%");
         health.put("activeUsers", 0); // Would need session tracking
-        health.put("databaseConnections", 1);
+        health.put("databaseConnections", pool.getInUse() + pool.getIdle());
+        health.put("connectionsInUse", pool.getInUse());
+        health.put("connectionsIdle", pool.getIdle());
+        health.put("connectionsAcquiring", pool.getAcquiring());
+        health.put("connectionPoolSize", pool.getMaxPoolSize());
+        health.put("connectionAcquisitionTimeouts", pool.getTimedOutToAcquire());
+        health.put("averageConnectionAcquisitionMs", pool.getAverageAcquisitionTimeMs());
+
+        WriteBehindQueue.Stats metricWrites = metricRepository.getWriteStats();
+        health.put("metricWritesQueued", metricWrites.getQueued());
+        health.put("metricWritesDropped", metricWrites.getDropped());
+        health.put("metricWritesFailed", metricWrites.getFailed());
+        health.put("queryCaches", QueryCache.allStats());
         health.put("timestamp", LocalDateTime.now().toString());
 
         return health;
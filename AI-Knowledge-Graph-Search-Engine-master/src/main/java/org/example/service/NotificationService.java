@@ -2,6 +2,7 @@ package org.example.service;
 
 import org.example.model.Notification;
 import org.example.repository.Neo4jConnection;
+import org.example.util.DateUtils;
 import org.example.util.SecurityUtils;
 import org.neo4j.driver.*;
 
@@ -13,8 +14,8 @@ import static org.neo4j.driver.Values.parameters;
 public class NotificationService {
     private final Driver driver;
 
-    public NotificationService() {
-        this.driver = Neo4jConnection.getInstance().getDriver();
+    public NotificationService(Neo4jConnection connection) {
+        this.driver = connection.getDriver();
     }
 
     public Notification createNotification(String userId, String message, String type) {
@@ -43,7 +44,7 @@ public class NotificationService {
         try (Session session = driver.session()) {
             String query = "CREATE (n:Notification {id: $id, userId: $userId, message: $message, type: $type, " +
                     "relatedEntityId: $relatedEntityId, relatedEntityType: $relatedEntityType, read: $read, " +
-                    "createdAt: $createdAt, priority: $priority, actionUrl: $actionUrl}) RETURN n";
+                    "createdAt: datetime($createdAt), priority: $priority, actionUrl: $actionUrl}) RETURN n";
 
             session.run(query, parameters(
                     "id", notification.getId(),
@@ -88,14 +89,14 @@ public class NotificationService {
 
     public void markAsRead(String notificationId) {
         try (Session session = driver.session()) {
-            String query = "MATCH (n:Notification {id: $id}) SET n.read = true, n.readAt = $readAt";
+            String query = "MATCH (n:Notification {id: $id}) SET n.read = true, n.readAt = datetime($readAt)";
             session.run(query, parameters("id", notificationId, "readAt", LocalDateTime.now().toString()));
         }
     }
 
     public void markAllAsRead(String userId) {
         try (Session session = driver.session()) {
-            String query = "MATCH (n:Notification {userId: $userId, read: false}) SET n.read = true, n.readAt = $readAt";
+            String query = "MATCH (n:Notification {userId: $userId, read: false}) SET n.read = true, n.readAt = datetime($readAt)";
             session.run(query, parameters("userId", userId, "readAt", LocalDateTime.now().toString()));
         }
     }
@@ -120,7 +121,7 @@ public class NotificationService {
     public void deleteOldNotifications(String userId, int daysOld) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
         try (Session session = driver.session()) {
-            String query = "MATCH (n:Notification {userId: $userId}) WHERE n.createdAt < $cutoffDate DELETE n";
+            String query = "MATCH (n:Notification {userId: $userId}) WHERE n.createdAt < datetime($cutoffDate) DELETE n";
             session.run(query, parameters("userId", userId, "cutoffDate", cutoffDate.toString()));
         }
     }
@@ -143,10 +144,10 @@ public class NotificationService {
         notification.setPriority((String) map.get("priority"));
         notification.setActionUrl((String) map.get("actionUrl"));
         if (map.get("createdAt") != null) {
-            notification.setCreatedAt(LocalDateTime.parse((String) map.get("createdAt")));
+            notification.setCreatedAt(DateUtils.toLocalDateTime(map.get("createdAt")));
         }
         if (map.get("readAt") != null) {
-            notification.setReadAt(LocalDateTime.parse((String) map.get("readAt")));
+            notification.setReadAt(DateUtils.toLocalDateTime(map.get("readAt")));
         }
         return notification;
     }
@@ -2,22 +2,66 @@ package org.example.service;
 
 import org.example.model.Ticket;
 import org.example.model.AuditLog;
+import org.example.model.enums.Priority;
+import org.example.repository.TicketColumnStore;
 import org.example.repository.TicketRepository;
 import org.example.repository.AuditRepository;
+import org.example.util.ColumnarFile;
 import org.example.util.ExportUtils;
 import org.example.util.DateUtils;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class ReportService {
     private final TicketRepository ticketRepository;
     private final AuditRepository auditRepository;
+    private final TicketColumnStore columns;
+
+    private static final String[] EXPORT_HEADER = { "ID", "Title", "Status", "Priority", "Created", "Assigned To" };
+    private static final String[] EXPORT_FIELDS = { "id", "title", "status", "priority", "createdAt", "assignedTo" };
+    private static final String[] COLUMNAR_FIELDS = { "id", "title", "status", "priority", "category", "assignedTo",
+            "createdAt", "updatedAt" };
+    private static final ColumnarFile.ColumnType[] COLUMNAR_TYPES = {
+            ColumnarFile.ColumnType.STRING, ColumnarFile.ColumnType.STRING,
+            ColumnarFile.ColumnType.DICTIONARY, ColumnarFile.ColumnType.DICTIONARY,
+            ColumnarFile.ColumnType.DICTIONARY, ColumnarFile.ColumnType.DICTIONARY,
+            ColumnarFile.ColumnType.TIMESTAMP, ColumnarFile.ColumnType.TIMESTAMP };
+
+    public ReportService(TicketRepository ticketRepository, AuditRepository auditRepository,
+            TicketColumnStore columns) {
+        this.ticketRepository = ticketRepository;
+        this.auditRepository = auditRepository;
+        this.columns = columns;
+        TicketRepository.addChangeListener(columns);
+    }
 
-    public ReportService() {
-        this.ticketRepository = new TicketRepository();
-        this.auditRepository = new AuditRepository();
+    // Aggregations scan the column store, loaded from the database on first use
+    private TicketColumnStore columns() {
+        if (!columns.isLoaded()) {
+            synchronized (columns) {
+                if (!columns.isLoaded()) {
+                    try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+                        columns.rebuild(tickets::iterator);
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    // Re-reads the column store once loaded, for tickets written by other processes
+    public void refreshColumns() {
+        if (!columns.isLoaded()) {
+            return;
+        }
+        try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+            columns.rebuild(tickets::iterator);
+        } catch (Exception e) {
+            System.err.println("❌ Error refreshing ticket column store: " + e.getMessage());
+        }
     }
 
     public String generateTicketReport() {
@@ -25,27 +69,17 @@ public class ReportService {
     }
 
     public String generateTicketReport(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Ticket> tickets = ticketRepository.findAll();
-
-        // Filter by date range
-        List<Ticket> filteredTickets = tickets.stream()
-                .filter(t -> t.getCreatedAt() != null &&
-                        t.getCreatedAt().isAfter(startDate) &&
-                        t.getCreatedAt().isBefore(endDate))
-                .toList();
+        Map<String, Long> statusCounts = columns().countBy(TicketColumnStore.Column.STATUS, startDate, endDate);
+        long totalTickets = 0;
+        for (long count : statusCounts.values()) {
+            totalTickets += count;
+        }
 
         StringBuilder report = new StringBuilder();
         report.append("TICKET REPORT\n");
         report.append("Period: ").append(DateUtils.formatDate(startDate))
                 .append(" to ").append(DateUtils.formatDate(endDate)).append("\n");
-        report.append("Total Tickets: ").append(filteredTickets.size()).append("\n\n");
-
-        // Status breakdown
-        Map<String, Long> statusCounts = new HashMap<>();
-        for (Ticket ticket : filteredTickets) {
-            String status = ticket.getStatus();
-            statusCounts.put(status, statusCounts.getOrDefault(status, 0L) + 1);
-        }
+        report.append("Total Tickets: ").append(totalTickets).append("\n\n");
 
         report.append("Status Breakdown:\n");
         statusCounts
@@ -54,26 +88,57 @@ public class ReportService {
         return report.toString();
     }
 
-    public void exportTicketsToCSV(String filename) throws IOException {
-        List<Ticket> tickets = ticketRepository.findAll();
-        List<String[]> data = new ArrayList<>();
-
-        // Header
-        data.add(new String[] { "ID", "Title", "Status", "Priority", "Created", "Assigned To" });
-
-        // Data rows
-        for (Ticket ticket : tickets) {
-            data.add(new String[] {
-                    ticket.getId(),
-                    ticket.getTitle(),
-                    ticket.getStatus(),
-                    ticket.getPriority(),
-                    DateUtils.formatDateTime(ticket.getCreatedAt()),
-                    ticket.getAssignedTo() != null ? ticket.getAssignedTo() : "Unassigned"
-            });
+    /**
+     * Streams every ticket to the file as it is read from the database, newest
+     * first, so the export runs in constant memory. Writes CSV, JSON Lines for a .jsonl name
+     * (either may end in .gz), or the columnar format for a .tcol name.
+     * Returns the number of tickets written.
+     */
+    public long exportTickets(String filename) throws IOException {
+        if (ExportUtils.isColumnarFile(filename)) {
+            return exportTicketsColumnar(filename);
+        }
+        try (Stream<Ticket> tickets = ticketRepository.streamAllNewestFirst();
+                ExportUtils.RowWriter writer = ExportUtils.openRowWriter(filename, EXPORT_HEADER, EXPORT_FIELDS)) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                writer.writeRow(
+                        ticket.getId(),
+                        ticket.getTitle(),
+                        ticket.getStatus(),
+                        ticket.getPriority(),
+                        DateUtils.formatDateTime(ticket.getCreatedAt()),
+                        ticket.getAssignedTo() != null ? ticket.getAssignedTo() : "Unassigned");
+            }
+            return writer.getRowsWritten();
+        }
+    }
+
+    // Carries the fields analytics needs with native timestamps instead of display strings
+    private long exportTicketsColumnar(String filename) throws IOException {
+        try (Stream<Ticket> tickets = ticketRepository.streamAllNewestFirst();
+                ColumnarFile.Writer writer = ExportUtils.openColumnarWriter(filename, COLUMNAR_FIELDS,
+                        COLUMNAR_TYPES)) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                writer.writeRow(
+                        ticket.getId(),
+                        ticket.getTitle(),
+                        ticket.getStatus(),
+                        ticket.getPriority(),
+                        ticket.getCategory(),
+                        ticket.getAssignedTo(),
+                        ticket.getCreatedAt(),
+                        ticket.getUpdatedAt());
+            }
+            return writer.getRowsWritten();
         }
+    }
 
-        ExportUtils.exportToCSV(data, filename);
+    public void exportTicketsToCSV(String filename) throws IOException {
+        exportTickets(filename);
     }
 
     public String generateSLAReport() {
@@ -86,8 +151,7 @@ public class ReportService {
         report.append("Period: ").append(DateUtils.formatDate(startDate))
                 .append(" to ").append(DateUtils.formatDate(endDate)).append("\n\n");
 
-        List<Ticket> tickets = ticketRepository.findAll();
-        long totalTickets = tickets.size();
+        long totalTickets = columns().count(startDate, endDate);
         long compliantTickets = totalTickets; // Simplified - would need actual SLA tracking
 
         double complianceRate = totalTickets > 0 ? ((double) compliantTickets / totalTickets) * 100.0 : 100.0;
@@ -127,7 +191,8 @@ public class ReportService {
 
     public void exportReportToCSV(String filename, String dataKey) {
         try {
-            exportTicketsToCSV(filename);
+            long rows = exportTickets(filename);
+            System.out.println("✅ Exported " + rows + " tickets to " + filename);
         } catch (IOException e) {
             System.err.println("Error exporting report: " + e.getMessage());
         }
@@ -156,18 +221,20 @@ public class ReportService {
     public Map<String, Object> generateExecutiveSummary(LocalDateTime startDate, LocalDateTime endDate) {
         Map<String, Object> summary = new HashMap<>();
 
-        List<Ticket> tickets = ticketRepository.findAll();
-        List<Ticket> periodTickets = tickets.stream()
-                .filter(t -> t.getCreatedAt() != null &&
-                        t.getCreatedAt().isAfter(startDate) &&
-                        t.getCreatedAt().isBefore(endDate))
-                .toList();
+        Map<String, Long> statusCounts = columns().countBy(TicketColumnStore.Column.STATUS, startDate, endDate);
+        int totalTickets = 0;
+        for (long count : statusCounts.values()) {
+            totalTickets += (int) count;
+        }
+        long openTickets = statusCounts.getOrDefault("OPEN", 0L);
+        long resolvedTickets = statusCounts.getOrDefault("RESOLVED", 0L);
+        double resolutionHours = columns().averageMinutesToResolve("RESOLVED", startDate, endDate) / 60.0;
 
         summary.put("period", DateUtils.formatDate(startDate) + " to " + DateUtils.formatDate(endDate));
-        summary.put("totalTickets", periodTickets.size());
-        summary.put("openTickets", periodTickets.stream().filter(t -> "OPEN".equals(t.getStatus())).count());
-        summary.put("resolvedTickets", periodTickets.stream().filter(t -> "RESOLVED".equals(t.getStatus())).count());
-        summary.put("averageResolutionTime", "2.5 hours"); // Simplified
+        summary.put("totalTickets", totalTickets);
+        summary.put("openTickets", openTickets);
+        summary.put("resolvedTickets", resolvedTickets);
+        summary.put("averageResolutionTime", String.format("%.1f hours", resolutionHours));
         summary.put("slaCompliance", "95%");
         summary.put("customerSatisfaction", "4.5/5");
 
@@ -198,21 +265,22 @@ public class ReportService {
     }
 
     private String generatePriorityAnalysis() {
+        Map<String, Long> counts = columns().countBy(TicketColumnStore.Column.PRIORITY, null, null);
         StringBuilder analysis = new StringBuilder();
         analysis.append("Priority Distribution:\n");
-        analysis.append("CRITICAL: ")
-                .append(ticketRepository.countByPriority(org.example.model.enums.Priority.CRITICAL)).append("\n");
-        analysis.append("HIGH: ").append(ticketRepository.countByPriority(org.example.model.enums.Priority.HIGH))
-                .append("\n");
-        analysis.append("MEDIUM: ").append(ticketRepository.countByPriority(org.example.model.enums.Priority.MEDIUM))
-                .append("\n");
-        analysis.append("LOW: ").append(ticketRepository.countByPriority(org.example.model.enums.Priority.LOW))
-                .append("\n");
+        for (Priority priority : new Priority[] { Priority.CRITICAL, Priority.HIGH, Priority.MEDIUM, Priority.LOW }) {
+            analysis.append(priority.name()).append(": ").append(counts.getOrDefault(priority.name(), 0L))
+                    .append("\n");
+        }
         return analysis.toString();
     }
 
     private String generateCategoryBreakdown() {
-        return "Category breakdown analysis\n";
+        StringBuilder breakdown = new StringBuilder();
+        breakdown.append("Category Breakdown:\n");
+        columns().countBy(TicketColumnStore.Column.CATEGORY, null, null)
+                .forEach((category, count) -> breakdown.append(category).append(": ").append(count).append("\n"));
+        return breakdown.toString();
     }
 
     private String generateTrendAnalysis() {
@@ -14,8 +14,8 @@ import java.util.List;
 public class SLAService {
     private final SLARepository slaRepository;
 
-    public SLAService() {
-        this.slaRepository = new SLARepository();
+    public SLAService(SLARepository slaRepository) {
+        this.slaRepository = slaRepository;
     }
 
     public SLA createSLA(String name, Priority priority, int responseTimeMinutes, int resolutionTimeMinutes) {
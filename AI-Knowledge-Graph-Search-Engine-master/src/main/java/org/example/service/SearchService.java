@@ -3,75 +3,183 @@ package org.example.service;
 import org.example.model.Ticket;
 import org.example.model.KnowledgeBase;
 import org.example.model.User;
+import org.example.exception.ValidationException;
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+import org.example.repository.TicketCriteria;
 import org.example.repository.TicketRepository;
 import org.example.repository.KBRepository;
 import org.example.repository.UserRepository;
+import org.example.search.TermSuggester;
+import org.example.search.TicketSearchIndex;
+import org.example.search.TicketSimilarityIndex;
+import org.example.search.Tokenizer;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class SearchService {
+    // Number of ranked ticket ids hydrated from Neo4j per keyword search
+    private static final int DEFAULT_TICKET_RESULT_LIMIT = 100;
+    private static final int DEFAULT_SIMILAR_TICKET_LIMIT = 10;
+    // Cosine similarity below which tickets are not considered related
+    private static final double MIN_TICKET_SIMILARITY = 0.3;
+    private static final int DEFAULT_SUGGESTION_LIMIT = 5;
+    private static final int DEFAULT_USER_RESULT_LIMIT = 50;
+    private static final int DEFAULT_KB_RESULT_LIMIT = 20;
+
     private final TicketRepository ticketRepository;
     private final KBRepository kbRepository;
     private final UserRepository userRepository;
-
-    public SearchService() {
-        this.ticketRepository = new TicketRepository();
-        this.kbRepository = new KBRepository();
-        this.userRepository = new UserRepository();
+    private final TicketSearchIndex ticketIndex;
+    private final TicketSimilarityIndex similarityIndex;
+    private final TermSuggester termSuggester;
+    private final AIService aiService;
+    private final Executor searchExecutor;
+    private final long globalDeadlineMillis;
+
+    public SearchService(TicketRepository ticketRepository, KBRepository kbRepository, UserRepository userRepository,
+            TicketSearchIndex ticketIndex, TicketSimilarityIndex similarityIndex, TermSuggester termSuggester,
+            AIService aiService, Executor searchExecutor, long globalDeadlineMillis) {
+        this.ticketRepository = ticketRepository;
+        this.kbRepository = kbRepository;
+        this.userRepository = userRepository;
+        this.ticketIndex = ticketIndex;
+        this.similarityIndex = similarityIndex;
+        this.termSuggester = termSuggester;
+        this.aiService = aiService;
+        this.searchExecutor = searchExecutor;
+        this.globalDeadlineMillis = globalDeadlineMillis;
+        TicketRepository.addChangeListener(ticketIndex);
+        TicketRepository.addChangeListener(similarityIndex);
+        TicketRepository.addChangeListener(termSuggester);
     }
 
     public List<Ticket> searchTickets(String query) {
+        return searchTickets(query, DEFAULT_TICKET_RESULT_LIMIT);
+    }
+
+    public List<Ticket> searchTickets(String query, int limit) {
         if (query == null || query.trim().isEmpty()) {
             return new ArrayList<>();
         }
 
-        return ticketRepository.search(query.trim());
+        TicketSearchIndex.SearchResult result = queryTicketIndex(query.trim(), limit);
+        return ticketRepository.findByIds(result.getTicketIds());
     }
 
-    public List<Ticket> advancedTicketSearch(Map<String, Object> criteria) {
-        List<Ticket> allTickets = ticketRepository.findAll();
-
-        return allTickets.stream()
-                .filter(ticket -> matchesCriteria(ticket, criteria))
-                .collect(Collectors.toList());
+    private TicketSearchIndex.SearchResult queryTicketIndex(String query, int limit) {
+        ensureTicketIndexLoaded();
+        return ticketIndex.search(query, limit);
     }
 
-    private boolean matchesCriteria(Ticket ticket, Map<String, Object> criteria) {
-        // Status filter
-        if (criteria.containsKey("status")) {
-            String status = (String) criteria.get("status");
-            if (!ticket.getStatus().equals(status)) {
-                return false;
+    private void ensureTicketIndexLoaded() {
+        if (ticketIndex.isLoaded()) {
+            return;
+        }
+        synchronized (ticketIndex) {
+            if (!ticketIndex.isLoaded()) {
+                try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+                    ticketIndex.rebuild(tickets::iterator);
+                }
             }
         }
+    }
 
-        // Priority filter
-        if (criteria.containsKey("priority")) {
-            String priority = (String) criteria.get("priority");
-            if (!ticket.getPriority().equals(priority)) {
-                return false;
+    /**
+     * Re-reads the keyword, similarity and type-ahead indexes from Neo4j so
+     * tickets written by other processes (the CLI, a bulk import, another
+     * instance) become searchable. Indexes not yet loaded by a first search
+     * are left alone.
+     */
+    public void refreshIndexes() {
+        if (ticketIndex.isLoaded()) {
+            try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+                ticketIndex.rebuild(tickets::iterator);
+            } catch (Exception e) {
+                System.err.println("❌ Error refreshing ticket search index: " + e.getMessage());
             }
         }
-
-        // Assignee filter
-        if (criteria.containsKey("assignedTo")) {
-            String assignedTo = (String) criteria.get("assignedTo");
-            if (ticket.getAssignedTo() == null || !ticket.getAssignedTo().equals(assignedTo)) {
-                return false;
+        if (similarityIndex.isLoaded()) {
+            try {
+                similarityIndex.rebuild(ticketRepository::streamAll);
+            } catch (Exception e) {
+                System.err.println("❌ Error refreshing ticket similarity index: " + e.getMessage());
+            }
+        }
+        if (termSuggester.isLoaded()) {
+            try {
+                loadSuggester();
+            } catch (Exception e) {
+                System.err.println("❌ Error refreshing type-ahead index: " + e.getMessage());
             }
         }
+    }
+
+    public List<Ticket> advancedTicketSearch(TicketCriteria criteria) {
+        return ticketRepository.findByCriteria(criteria);
+    }
+
+    /**
+     * Map-based variant kept for existing callers; keys mirror the TicketCriteria
+     * builder. Returns every match unless a "limit" is given, as it always has.
+     */
+    public List<Ticket> advancedTicketSearch(Map<String, Object> criteria) {
+        TicketCriteria.Builder builder = TicketCriteria.builder().limit(TicketCriteria.NO_LIMIT);
 
-        // Text search in title/description
+        if (criteria.containsKey("status")) {
+            builder.status(parseEnum(TicketStatus.class, criteria.get("status"), "status"));
+        }
+        if (criteria.containsKey("priority")) {
+            builder.priority(parseEnum(Priority.class, criteria.get("priority"), "priority"));
+        }
+        if (criteria.containsKey("assignedTo")) {
+            builder.assignedTo((String) criteria.get("assignedTo"));
+        }
+        if (criteria.containsKey("category")) {
+            builder.category((String) criteria.get("category"));
+        }
+        if (criteria.containsKey("createdFrom")) {
+            builder.createdFrom((LocalDateTime) criteria.get("createdFrom"));
+        }
+        if (criteria.containsKey("createdTo")) {
+            builder.createdTo((LocalDateTime) criteria.get("createdTo"));
+        }
         if (criteria.containsKey("text")) {
-            String text = ((String) criteria.get("text")).toLowerCase();
-            String searchableText = (ticket.getTitle() + " " + ticket.getDescription()).toLowerCase();
-            if (!searchableText.contains(text)) {
-                return false;
-            }
+            builder.text((String) criteria.get("text"));
+        }
+        if (criteria.containsKey("skip")) {
+            builder.skip(((Number) criteria.get("skip")).intValue());
+        }
+        if (criteria.containsKey("limit")) {
+            builder.limit(((Number) criteria.get("limit")).intValue());
         }
 
-        return true;
+        return advancedTicketSearch(builder.build());
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, Object value, String fieldName) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isInstance(value)) {
+            return type.cast(value);
+        }
+        try {
+            return Enum.valueOf(type, value.toString().trim().toUpperCase().replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid " + fieldName + ": " + value);
+        }
     }
 
     public List<KnowledgeBase> searchKnowledgeBase(String query) {
@@ -86,21 +194,30 @@ public class SearchService {
         return kbRepository.findByCategory(categoryId);
     }
 
+    /**
+     * Users whose username, full name or email contains the query's words,
+     * the last word also matching as a prefix, best match first. This is a
+     * full-text match, not a substring one ("ohn" does not find "john"), and
+     * returns at most DEFAULT_USER_RESULT_LIMIT users.
+     */
     public List<User> searchUsers(String query) {
         if (query == null || query.trim().isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<User> allUsers = userRepository.findAll();
-        String lowerQuery = query.toLowerCase();
-
-        return allUsers.stream()
-                .filter(user -> user.getUsername().toLowerCase().contains(lowerQuery) ||
-                        user.getFullName().toLowerCase().contains(lowerQuery) ||
-                        user.getEmail().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
+        return userRepository.search(query.trim(), DEFAULT_USER_RESULT_LIMIT);
     }
 
+    /**
+     * Runs the ticket, KB and user searches in parallel under one deadline.
+     * Each database query carries the time left as its transaction timeout,
+     * so the server stops a search that is abandoned. A search that has not
+     * answered by the deadline, failed, or was rejected by the full search
+     * pool contributes an empty list; its key is listed under "timedOut" or
+     * "failed" and "partial" is set. Each list is capped (100 tickets, 20
+     * articles, 50 users); a list that had more matches is listed under
+     * "truncated".
+     */
     public Map<String, Object> globalSearch(String query) {
         Map<String, Object> results = new HashMap<>();
 
@@ -111,50 +228,154 @@ public class SearchService {
             return results;
         }
 
-        results.put("tickets", searchTickets(query));
-        results.put("knowledgeBase", searchKnowledgeBase(query));
-        results.put("users", searchUsers(query));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(globalDeadlineMillis);
+        String text = query.trim();
+        // One row past each cap tells a full list from a cut-off one
+        CompletableFuture<List<Ticket>> tickets = submit(() -> ticketRepository.findByIds(
+                queryTicketIndex(text, DEFAULT_TICKET_RESULT_LIMIT + 1).getTicketIds(), remaining(deadline)));
+        CompletableFuture<List<KnowledgeBase>> articles = submit(() -> kbRepository.searchByTitle(
+                text, DEFAULT_KB_RESULT_LIMIT + 1, remaining(deadline)));
+        CompletableFuture<List<User>> users = submit(() -> userRepository.search(
+                text, DEFAULT_USER_RESULT_LIMIT + 1, remaining(deadline)));
+
+        List<String> timedOut = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        List<String> truncated = new ArrayList<>();
+        results.put("tickets", cap(await(tickets, "tickets", deadline, timedOut, failed),
+                DEFAULT_TICKET_RESULT_LIMIT, "tickets", truncated));
+        results.put("knowledgeBase", cap(await(articles, "knowledgeBase", deadline, timedOut, failed),
+                DEFAULT_KB_RESULT_LIMIT, "knowledgeBase", truncated));
+        results.put("users", cap(await(users, "users", deadline, timedOut, failed),
+                DEFAULT_USER_RESULT_LIMIT, "users", truncated));
         results.put("query", query);
         results.put("totalResults",
                 ((List<?>) results.get("tickets")).size() +
                         ((List<?>) results.get("knowledgeBase")).size() +
                         ((List<?>) results.get("users")).size());
+        results.put("timedOut", timedOut);
+        results.put("failed", failed);
+        results.put("truncated", truncated);
+        results.put("partial", !timedOut.isEmpty() || !failed.isEmpty());
 
         return results;
     }
 
+    private static <T> List<T> cap(List<T> matches, int limit, String key, List<String> truncated) {
+        if (matches.size() <= limit) {
+            return matches;
+        }
+        truncated.add(key);
+        return new ArrayList<>(matches.subList(0, limit));
+    }
+
+    // A full search pool rejects the search, which then reports as failed
+    private <T> CompletableFuture<List<T>> submit(Supplier<List<T>> search) {
+        try {
+            return CompletableFuture.supplyAsync(search, searchExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Time left until the deadline, taken when a search starts so time spent queued counts
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    // Waits at most until the shared deadline; a late search is abandoned, not awaited
+    private <T> List<T> await(CompletableFuture<List<T>> search, String key, long deadline,
+            List<String> timedOut, List<String> failed) {
+        try {
+            return search.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            search.cancel(true);
+            timedOut.add(key);
+        } catch (ExecutionException e) {
+            System.err.println("❌ Error searching " + key + ": " + e.getCause().getMessage());
+            failed.add(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            search.cancel(true);
+            timedOut.add(key);
+        }
+        return new ArrayList<>();
+    }
+
     public List<Ticket> searchTicketsByDateRange(String startDate, String endDate) {
         // Placeholder - would need date-based repository query
         return new ArrayList<>();
     }
 
     public List<Ticket> searchSimilarTickets(Ticket ticket) {
-        List<Ticket> allTickets = ticketRepository.findAll();
-        AIService aiService = new AIService();
-
-        // Find tickets with similarity > 0.5
-        return allTickets.stream()
-                .filter(t -> !t.getId().equals(ticket.getId()))
-                .filter(t -> aiService.calculateSimilarity(ticket, t) > 0.5)
-                .limit(10)
-                .collect(Collectors.toList());
+        return searchSimilarTickets(ticket, DEFAULT_SIMILAR_TICKET_LIMIT);
+    }
+
+    // Top-k nearest tickets by embedding similarity, best first
+    public List<Ticket> searchSimilarTickets(Ticket ticket, int k) {
+        if (ticket == null) {
+            return new ArrayList<>();
+        }
+
+        ensureSimilarityIndexLoaded();
+        List<String> ids = similarityIndex.findSimilar(ticket, k, MIN_TICKET_SIMILARITY);
+        return ticketRepository.findByIds(ids);
+    }
+
+    private void ensureSimilarityIndexLoaded() {
+        if (similarityIndex.isLoaded()) {
+            return;
+        }
+        synchronized (similarityIndex) {
+            if (!similarityIndex.isLoaded()) {
+                similarityIndex.rebuild(ticketRepository::streamAll);
+            }
+        }
     }
 
     public List<String> getSuggestedSearchTerms(String partialQuery) {
-        if (partialQuery == null || partialQuery.length() < 2) {
+        return getSuggestedSearchTerms(partialQuery, DEFAULT_SUGGESTION_LIMIT);
+    }
+
+    /**
+     * Completes the last word of the query from ticket and KB title words,
+     * keeping the words before it: "printer ja" -> "printer jam". Nothing is
+     * suggested after a trailing space or for a last word under 2 characters.
+     */
+    public List<String> getSuggestedSearchTerms(String partialQuery, int limit) {
+        if (partialQuery == null || partialQuery.isBlank() || Character.isWhitespace(
+                partialQuery.charAt(partialQuery.length() - 1))) {
             return new ArrayList<>();
         }
 
-        // Simple suggestion based on common terms
-        List<String> suggestions = Arrays.asList(
-                "bug", "feature", "error", "crash", "performance",
-                "login", "password", "network", "database", "security");
+        String query = partialQuery.stripLeading();
+        int lastWord = query.lastIndexOf(' ') + 1;
+        String head = query.substring(0, lastWord);
 
-        String lowerQuery = partialQuery.toLowerCase();
-        return suggestions.stream()
-                .filter(term -> term.startsWith(lowerQuery))
-                .limit(5)
-                .collect(Collectors.toList());
+        ensureSuggesterLoaded();
+        List<String> suggestions = new ArrayList<>();
+        for (String term : termSuggester.complete(query.substring(lastWord), limit)) {
+            suggestions.add(head + term);
+        }
+        return suggestions;
+    }
+
+    private void ensureSuggesterLoaded() {
+        if (termSuggester.isLoaded()) {
+            return;
+        }
+        synchronized (termSuggester) {
+            if (!termSuggester.isLoaded()) {
+                loadSuggester();
+            }
+        }
+    }
+
+    private void loadSuggester() {
+        List<String> kbTitles = kbRepository.findAll().stream().map(KnowledgeBase::getTitle).toList();
+        try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+            Stream<String> titles = Stream.concat(tickets.map(Ticket::getTitle), kbTitles.stream());
+            termSuggester.rebuild(titles::iterator);
+        }
     }
 
     public Map<String, Long> getSearchStatistics() {
@@ -172,15 +393,16 @@ public class SearchService {
 
     public List<KnowledgeBase> getRelatedArticles(Ticket ticket) {
         // Find KB articles related to ticket category or keywords
-        AIService aiService = new AIService();
         List<String> keywords = aiService.extractKeywords(ticket.getTitle() + " " + ticket.getDescription());
 
         List<KnowledgeBase> allArticles = kbRepository.findAll();
 
+        // Keywords come back lower-cased from the tokenizer
+        Tokenizer articleText = Tokenizer.forThread();
         return allArticles.stream()
                 .filter(article -> {
-                    String articleText = (article.getTitle() + " " + article.getContent()).toLowerCase();
-                    return keywords.stream().anyMatch(keyword -> articleText.contains(keyword.toLowerCase()));
+                    articleText.reset(article.getTitle(), article.getContent());
+                    return keywords.stream().anyMatch(articleText::contains);
                 })
                 .limit(5)
                 .collect(Collectors.toList());
@@ -192,9 +414,17 @@ public class SearchService {
     }
 
     public Map<String, Object> getFacetedSearchResults(String query) {
-        List<Ticket> tickets = searchTickets(query);
-
         Map<String, Object> facets = new HashMap<>();
+        if (query == null || query.trim().isEmpty()) {
+            facets.put("status", new HashMap<String, Long>());
+            facets.put("priority", new HashMap<String, Long>());
+            facets.put("results", new ArrayList<Ticket>());
+            facets.put("totalCount", 0);
+            return facets;
+        }
+
+        TicketSearchIndex.SearchResult result = queryTicketIndex(query.trim(), DEFAULT_TICKET_RESULT_LIMIT);
+        List<Ticket> tickets = ticketRepository.findByIds(result.getTicketIds());
 
         // Status facets
         Map<String, Long> statusFacets = tickets.stream()
@@ -207,7 +437,7 @@ public class SearchService {
         facets.put("priority", priorityFacets);
 
         facets.put("results", tickets);
-        facets.put("totalCount", tickets.size());
+        facets.put("totalCount", result.getTotalHits());
 
         return facets;
     }
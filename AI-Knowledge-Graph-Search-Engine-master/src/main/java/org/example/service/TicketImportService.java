@@ -0,0 +1,405 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.enums.Priority;
+import org.example.model.enums.TicketStatus;
+import org.example.repository.TicketRepository;
+import org.example.search.MinHash;
+import org.example.util.DateUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk-loads tickets from CSV (with a header row) or JSON Lines, optionally
+ * gzipped. Records are parsed on a worker pool and written in order, one
+ * UNWIND transaction per batch, by the calling thread. After each batch the
+ * number of committed records goes to a checkpoint file next to the input, so
+ * an interrupted import resumes where it stopped. Tickets are merged by id
+ * (derived from the record content when missing), so replays are harmless.
+ */
+public class TicketImportService {
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final String CHECKPOINT_SUFFIX = ".import-checkpoint";
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final TicketRepository ticketRepository;
+    // Rebuilds the in-memory ticket views and drops the trend rollup, which the import bypasses
+    private final Runnable refreshViews;
+
+    public TicketImportService(TicketRepository ticketRepository, Runnable refreshViews) {
+        this.ticketRepository = ticketRepository;
+        this.refreshViews = refreshViews;
+    }
+
+    public Result importFile(Path input) throws IOException {
+        return importFile(input, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    /**
+     * Imports the file, resuming from its checkpoint unless restart is set.
+     * The checkpoint is removed once the whole file has been imported.
+     */
+    public Result importFile(Path input, int batchSize, int threads, boolean restart) throws IOException {
+        int size = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        Path checkpoint = input.resolveSibling(input.getFileName() + CHECKPOINT_SUFFIX);
+        long resumeFrom = restart ? 0 : readCheckpoint(checkpoint);
+        boolean json = isJsonLines(input);
+
+        Result result = new Result(resumeFrom);
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.max(1, threads), task -> {
+            Thread thread = new Thread(task, "ticket-import-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Parsed batches waiting to be written, bounded so the reader cannot run far ahead
+        ArrayDeque<Future<Batch>> pending = new ArrayDeque<>();
+        int maxPending = Math.max(2, threads * 2);
+
+        try (BufferedReader reader = open(input)) {
+            String[] header = json ? null : parseCsvRecord(readRecord(reader, false));
+            if (!json && header == null) {
+                throw new IOException("CSV input has no header row: " + input);
+            }
+
+            for (long skipped = 0; skipped < resumeFrom; skipped++) {
+                if (readRecord(reader, json) == null) {
+                    break;
+                }
+            }
+            if (resumeFrom > 0) {
+                System.out.println("⏩ Resuming " + input.getFileName() + " after " + resumeFrom + " records");
+            }
+
+            // Counts blank records too, so it matches what the resume loop above skips
+            long position = resumeFrom;
+            List<String> records = new ArrayList<>(size);
+            String record;
+            while ((record = readRecord(reader, json)) != null) {
+                position++;
+                if (record.isBlank()) {
+                    continue;
+                }
+                records.add(record);
+                if (records.size() == size) {
+                    pending.add(submit(parsers, records, header, position));
+                    records = new ArrayList<>(size);
+                    if (pending.size() >= maxPending) {
+                        write(pending.poll(), checkpoint, result);
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                pending.add(submit(parsers, records, header, position));
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), checkpoint, result);
+            }
+        } finally {
+            parsers.shutdownNow();
+        }
+
+        Files.deleteIfExists(checkpoint);
+        ticketRepository.reconcileCounters();
+        refreshViews.run();
+        System.out.println("✅ Import finished: " + result);
+        return result;
+    }
+
+    private Future<Batch> submit(ExecutorService parsers, List<String> records, String[] header, long endPosition) {
+        return parsers.submit(() -> parse(records, header, endPosition));
+    }
+
+    private void write(Future<Batch> future, Path checkpoint, Result result) throws IOException {
+        Batch batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse import batch", e.getCause());
+        }
+
+        if (!batch.rows.isEmpty()) {
+            ticketRepository.importBatch(batch.rows);
+        }
+        writeCheckpoint(checkpoint, batch.endPosition);
+        result.add(batch);
+        System.out.println("📥 " + result.progress());
+    }
+
+    private Batch parse(List<String> records, String[] header, long endPosition) {
+        Batch batch = new Batch(endPosition);
+        for (String record : records) {
+            try {
+                Map<String, Object> row = header == null ? fromJson(record) : fromCsv(record, header);
+                batch.rows.add(normalize(row, record));
+            } catch (Exception e) {
+                batch.errors.add(e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private static Map<String, Object> fromJson(String record) throws IOException {
+        JsonNode node = JSON.readTree(record);
+        Map<String, Object> row = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                row.put(field.getKey(), field.getValue().asText());
+            }
+        });
+        return row;
+    }
+
+    private static Map<String, Object> fromCsv(String record, String[] header) {
+        String[] values = parseCsvRecord(record);
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            if (!values[i].isEmpty()) {
+                row.put(header[i], values[i]);
+            }
+        }
+        return row;
+    }
+
+    // Fills defaults and derives what the create path would, rejects rows without a title
+    private static Map<String, Object> normalize(Map<String, Object> row, String record) {
+        String title = (String) row.get("title");
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("Missing title: " + abbreviate(record));
+        }
+        String description = (String) row.get("description");
+
+        if (row.get("id") == null) {
+            row.put("id", "TKT-" + contentHash(record));
+        }
+        row.put("status", enumValue(row.get("status"), TicketStatus.OPEN.name(), TicketStatus.class));
+        row.put("priority", enumValue(row.get("priority"), Priority.MEDIUM.name(), Priority.class));
+
+        // Missing timestamps stay null so a replay keeps the ones stored by the first import
+        putTimestamp(row, "createdAt");
+        putTimestamp(row, "updatedAt");
+        putTimestamp(row, "resolvedAt");
+
+        int[] signature = MinHash.signature(title, description);
+        row.put("minhash", MinHash.isEmpty(signature) ? null : signature);
+        return row;
+    }
+
+    private static void putTimestamp(Map<String, Object> row, String key) {
+        LocalDateTime time = row.get(key) != null ? DateUtils.toLocalDateTime(row.get(key)) : null;
+        row.put(key, time != null ? time.toString() : null);
+    }
+
+    private static <E extends Enum<E>> String enumValue(Object value, String defaultValue, Class<E> type) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return Enum.valueOf(type, value.toString().trim().toUpperCase(Locale.ROOT)).name();
+    }
+
+    // Stable id for records without one, so a replay merges onto the same ticket
+    private static String contentHash(String record) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(record.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().withUpperCase().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BufferedReader open(Path input) throws IOException {
+        InputStream in = Files.newInputStream(input);
+        if (input.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static boolean isJsonLines(Path input) {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson");
+    }
+
+    // One JSON line, or one CSV record, which may span lines inside a quoted field
+    private static String readRecord(BufferedReader reader, boolean json) throws IOException {
+        String line = reader.readLine();
+        if (line == null || json || countQuotes(line) % 2 == 0) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        int quotes = countQuotes(line);
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += countQuotes(line);
+        }
+        return record.toString();
+    }
+
+    private static int countQuotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    // RFC 4180 fields: quoted fields may contain commas, newlines and doubled quotes
+    private static String[] parseCsvRecord(String record) {
+        if (record == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    private static long readCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpoint).trim());
+    }
+
+    // Written to a temp file and moved so a crash never leaves a torn checkpoint
+    private static void writeCheckpoint(Path checkpoint, long position) throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(position));
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String abbreviate(String record) {
+        return record.length() <= 80 ? record : record.substring(0, 80) + "...";
+    }
+
+    private static final class Batch {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        // Records consumed from the input once this batch is committed
+        final long endPosition;
+
+        Batch(long endPosition) {
+            this.endPosition = endPosition;
+        }
+    }
+
+    public static class Result {
+        private final long resumedFrom;
+        private final long startNanos = System.nanoTime();
+        private long imported;
+        private long rejected;
+        private long position;
+
+        Result(long resumedFrom) {
+            this.resumedFrom = resumedFrom;
+            this.position = resumedFrom;
+        }
+
+        void add(Batch batch) {
+            imported += batch.rows.size();
+            for (String error : batch.errors) {
+                if (rejected < MAX_REPORTED_ERRORS) {
+                    System.err.println("❌ Rejected record: " + error);
+                }
+                rejected++;
+            }
+            position = batch.endPosition;
+        }
+
+        // Records skipped because an earlier run had already committed them
+        public long getResumedFrom() {
+            return resumedFrom;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public long getElapsedMs() {
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        public double getTicketsPerSecond() {
+            long elapsed = getElapsedMs();
+            return elapsed == 0 ? 0.0 : imported * 1000.0 / elapsed;
+        }
+
+        String progress() {
+            return String.format("%d records committed (%d imported, %d rejected), %.0f tickets/s",
+                    position, imported, rejected, getTicketsPerSecond());
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "imported=" + imported +
+                    ", rejected=" + rejected +
+                    ", resumedFrom=" + resumedFrom +
+                    ", elapsedMs=" + getElapsedMs() +
+                    ", ticketsPerSecond=" + String.format("%.0f", getTicketsPerSecond()) +
+                    '}';
+        }
+    }
+}
@@ -4,18 +4,27 @@ import org.example.model.Ticket;
 import org.example.model.enums.TicketStatus;
 import org.example.model.enums.Priority;
 import org.example.repository.TicketRepository;
+import org.example.search.DuplicateTicketIndex;
+import org.example.search.MinHash;
 import org.example.util.SecurityUtils;
 import org.example.util.ValidationUtils;
 import org.example.exception.ResourceNotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class TicketService {
+    // Estimated Jaccard similarity above which a new ticket is flagged as a duplicate
+    private static final double DUPLICATE_THRESHOLD = 0.7;
+
     private final TicketRepository ticketRepository;
+    private final DuplicateTicketIndex duplicateIndex;
 
-    public TicketService() {
-        this.ticketRepository = new TicketRepository();
+    public TicketService(TicketRepository ticketRepository, DuplicateTicketIndex duplicateIndex) {
+        this.ticketRepository = ticketRepository;
+        this.duplicateIndex = duplicateIndex;
+        TicketRepository.addChangeListener(duplicateIndex);
     }
 
     public Ticket createTicket(String title, String description, String categoryId, Priority priority,
@@ -33,8 +42,51 @@ public class TicketService {
         ticket.setStatus(TicketStatus.OPEN.name());
         ticket.setCreatedBy(createdBy);
         ticket.setCreatedAt(LocalDateTime.now());
+        ticket.setMinHash(MinHash.signature(title, description));
+
+        // Look up before saving, the save itself adds the ticket to the index
+        List<String> duplicates = findPossibleDuplicates(ticket);
+        Ticket saved = ticketRepository.save(ticket);
+        if (saved != null && !duplicates.isEmpty()) {
+            saved.setPossibleDuplicateIds(duplicates);
+            ticketRepository.linkPossibleDuplicates(saved.getId(), duplicates);
+            System.out.println("✅ Ticket " + saved.getId() + " flagged as possible duplicate of " + duplicates);
+        }
+        return saved;
+    }
 
-        return ticketRepository.save(ticket);
+    // Ids of existing tickets whose text is nearly the same, most similar first
+    public List<String> findPossibleDuplicates(Ticket ticket) {
+        ensureDuplicateIndexLoaded();
+        int[] signature = ticket.getMinHash() != null
+                ? ticket.getMinHash()
+                : MinHash.signature(ticket.getTitle(), ticket.getDescription());
+        return duplicateIndex.findDuplicates(signature, ticket.getId(), DUPLICATE_THRESHOLD);
+    }
+
+    private void ensureDuplicateIndexLoaded() {
+        if (duplicateIndex.isLoaded()) {
+            return;
+        }
+        synchronized (duplicateIndex) {
+            if (!duplicateIndex.isLoaded()) {
+                try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+                    duplicateIndex.rebuild(tickets::iterator);
+                }
+            }
+        }
+    }
+
+    // Re-reads the duplicate index once loaded, for tickets written by other processes
+    public void refreshDuplicateIndex() {
+        if (!duplicateIndex.isLoaded()) {
+            return;
+        }
+        try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+            duplicateIndex.rebuild(tickets::iterator);
+        } catch (Exception e) {
+            System.err.println("❌ Error refreshing duplicate detection index: " + e.getMessage());
+        }
     }
 
     public Ticket getTicketById(String id) {
@@ -68,6 +120,7 @@ public class TicketService {
         getTicketById(ticket.getId()); // Verify exists
         ticket.setUpdatedAt(LocalDateTime.now());
 
+        // The repository re-signs the title and description on every write
         return ticketRepository.save(ticket);
     }
 
@@ -131,9 +184,10 @@ public class TicketService {
     }
 
     public List<Ticket> getOverdueTickets() {
-        List<Ticket> allTickets = getAllTickets();
-        return allTickets.stream()
-                .filter(this::isOverdue)
-                .toList();
+        try (Stream<Ticket> tickets = ticketRepository.streamAll()) {
+            return tickets
+                    .filter(this::isOverdue)
+                    .toList();
+        }
     }
 }
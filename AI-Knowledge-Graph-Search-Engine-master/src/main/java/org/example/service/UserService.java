@@ -14,8 +14,8 @@ import java.util.List;
 public class UserService {
     private final UserRepository userRepository;
 
-    public UserService() {
-        this.userRepository = new UserRepository();
+    public UserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
     }
 
     public User createUser(String username, String email, String password, String fullName, UserRole role) {
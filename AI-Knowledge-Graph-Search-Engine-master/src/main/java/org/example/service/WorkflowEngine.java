@@ -13,8 +13,8 @@ import java.util.List;
 public class WorkflowEngine {
     private final WorkflowRepository workflowRepository;
 
-    public WorkflowEngine() {
-        this.workflowRepository = new WorkflowRepository();
+    public WorkflowEngine(WorkflowRepository workflowRepository) {
+        this.workflowRepository = workflowRepository;
     }
 
     public Workflow createWorkflow(String name, String triggerEvent, String createdBy) {
@@ -97,7 +97,7 @@ public class WorkflowEngine {
 
             // Increment execution count
             workflow.incrementExecutionCount();
-            workflowRepository.save(workflow);
+            workflowRepository.incrementExecutionCount(workflow.getId());
 
         } catch (Exception e) {
             System.err.println("Error executing workflow " + workflow.getName() + ": " + e.getMessage());
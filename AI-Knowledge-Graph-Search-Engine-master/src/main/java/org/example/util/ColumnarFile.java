@@ -0,0 +1,395 @@
+package org.example.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact column-oriented file for handing exports to analytics tools.
+ *
+ * Rows are written in groups of up to ROW_GROUP_SIZE. Within a group each
+ * column is encoded on its own and deflated separately:
+ * DICTIONARY columns store the group's distinct values once plus a varint
+ * code per row, TIMESTAMP columns store zigzag varint deltas of epoch millis
+ * (UTC), STRING columns store length-prefixed UTF-8. Null is code/length 0 in
+ * every encoding.
+ *
+ * Layout: magic, column count, (name, type) per column, then row groups of
+ * [row count, per column (raw length, compressed length, bytes)], ended by a
+ * row count of 0.
+ */
+public final class ColumnarFile {
+
+    public enum ColumnType {
+        STRING, DICTIONARY, TIMESTAMP
+    }
+
+    private static final int MAGIC = 0x54434F4C; // "TCOL"
+    private static final int VERSION = 1;
+    static final int ROW_GROUP_SIZE = 65_536;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private ColumnarFile() {
+    }
+
+    public static Writer create(Path file, String[] names, ColumnType[] types) throws IOException {
+        if (names.length != types.length) {
+            throw new IllegalArgumentException("Each column needs a type");
+        }
+        return new Writer(file, names, types);
+    }
+
+    public static Reader open(Path file) throws IOException {
+        return new Reader(file);
+    }
+
+    /**
+     * Streams rows into the file. Only the current row group is buffered, as
+     * encoded bytes, so memory stays flat however many rows are written.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final ColumnType[] types;
+        private final ColumnEncoder[] encoders;
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private byte[] compressBuffer = new byte[IO_BUFFER_SIZE];
+        private int groupRows;
+        private long rowsWritten;
+        private boolean closed;
+
+        private Writer(Path file, String[] names, ColumnType[] types) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER_SIZE));
+            this.types = types.clone();
+            this.encoders = new ColumnEncoder[types.length];
+            for (int i = 0; i < types.length; i++) {
+                encoders[i] = new ColumnEncoder(types[i]);
+            }
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(names.length);
+            for (int i = 0; i < names.length; i++) {
+                out.writeUTF(names[i]);
+                out.writeByte(types[i].ordinal());
+            }
+        }
+
+        // Values are Strings, or LocalDateTime for TIMESTAMP columns; null is allowed anywhere
+        public void writeRow(Object... values) throws IOException {
+            if (values.length != types.length) {
+                throw new IllegalArgumentException("Expected " + types.length + " values, got " + values.length);
+            }
+            for (int i = 0; i < values.length; i++) {
+                encoders[i].add(values[i]);
+            }
+            rowsWritten++;
+            if (++groupRows == ROW_GROUP_SIZE) {
+                flushGroup();
+            }
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+
+        private void flushGroup() throws IOException {
+            if (groupRows == 0) {
+                return;
+            }
+            out.writeInt(groupRows);
+            for (ColumnEncoder encoder : encoders) {
+                byte[] raw = encoder.finish();
+                deflater.reset();
+                deflater.setInput(raw);
+                deflater.finish();
+                if (compressBuffer.length < raw.length + 64) {
+                    compressBuffer = new byte[raw.length + 64];
+                }
+                int compressed = 0;
+                while (!deflater.finished()) {
+                    if (compressed == compressBuffer.length) {
+                        compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+                    }
+                    compressed += deflater.deflate(compressBuffer, compressed, compressBuffer.length - compressed);
+                }
+                out.writeInt(raw.length);
+                out.writeInt(compressed);
+                out.write(compressBuffer, 0, compressed);
+            }
+            groupRows = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flushGroup();
+                out.writeInt(0);
+            } finally {
+                deflater.end();
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a file written by {@link Writer} one row at a time, decoding a row
+     * group when the previous one is used up.
+     */
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final String[] names;
+        private final ColumnType[] types;
+        private final Inflater inflater = new Inflater();
+        private Object[][] group;
+        private int groupRows;
+        private int next;
+        private boolean finished;
+
+        private Reader(Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), IO_BUFFER_SIZE));
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a columnar export: " + file);
+                }
+                int version = in.readUnsignedByte();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported columnar export version " + version);
+                }
+                int columns = in.readInt();
+                names = new String[columns];
+                types = new ColumnType[columns];
+                for (int i = 0; i < columns; i++) {
+                    names[i] = in.readUTF();
+                    types[i] = ColumnType.values()[in.readUnsignedByte()];
+                }
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        public String[] getColumnNames() {
+            return names.clone();
+        }
+
+        public ColumnType[] getColumnTypes() {
+            return types.clone();
+        }
+
+        // Next row in column order, or null at the end of the file
+        public Object[] readRow() throws IOException {
+            if (next == groupRows && !readGroup()) {
+                return null;
+            }
+            Object[] row = new Object[names.length];
+            for (int column = 0; column < names.length; column++) {
+                row[column] = group[column][next];
+            }
+            next++;
+            return row;
+        }
+
+        private boolean readGroup() throws IOException {
+            if (finished) {
+                return false;
+            }
+            int rows = in.readInt();
+            if (rows == 0) {
+                finished = true;
+                return false;
+            }
+            group = new Object[names.length][];
+            for (int column = 0; column < names.length; column++) {
+                int rawLength = in.readInt();
+                byte[] compressed = new byte[in.readInt()];
+                in.readFully(compressed);
+                byte[] raw = new byte[rawLength];
+                inflater.reset();
+                inflater.setInput(compressed);
+                try {
+                    int read = 0;
+                    while (read < rawLength) {
+                        int n = inflater.inflate(raw, read, rawLength - read);
+                        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                            throw new EOFException("Truncated column " + names[column]);
+                        }
+                        read += n;
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt column " + names[column], e);
+                }
+                group[column] = decode(types[column], raw, rows);
+            }
+            groupRows = rows;
+            next = 0;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            in.close();
+        }
+    }
+
+    // Accumulates one column of the current row group in its encoded form
+    private static final class ColumnEncoder {
+        private final ColumnType type;
+        private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryValues = new ArrayList<>();
+        private long previousMillis;
+
+        ColumnEncoder(ColumnType type) {
+            this.type = type;
+        }
+
+        void add(Object value) {
+            switch (type) {
+                case STRING -> {
+                    if (value == null) {
+                        writeVarint(values, 0);
+                    } else {
+                        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                        writeVarint(values, bytes.length + 1L);
+                        values.writeBytes(bytes);
+                    }
+                }
+                case DICTIONARY -> {
+                    if (value == null) {
+                        writeVarint(values, 0);
+                    } else {
+                        String text = value.toString();
+                        Integer code = dictionary.get(text);
+                        if (code == null) {
+                            code = dictionaryValues.size() + 1;
+                            dictionary.put(text, code);
+                            dictionaryValues.add(text);
+                        }
+                        writeVarint(values, code);
+                    }
+                }
+                case TIMESTAMP -> {
+                    if (value == null) {
+                        writeVarint(values, 0);
+                    } else {
+                        long millis = ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+                        // zigzag keeps small negative deltas small; +1 leaves 0 for null
+                        long delta = millis - previousMillis;
+                        writeVarint(values, ((delta << 1) ^ (delta >> 63)) + 1);
+                        previousMillis = millis;
+                    }
+                }
+            }
+        }
+
+        // Returns the encoded group and resets for the next one
+        byte[] finish() throws IOException {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream(values.size() + 16);
+            if (type == ColumnType.DICTIONARY) {
+                writeVarint(encoded, dictionaryValues.size());
+                for (String value : dictionaryValues) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    writeVarint(encoded, bytes.length);
+                    encoded.writeBytes(bytes);
+                }
+                dictionary.clear();
+                dictionaryValues.clear();
+            }
+            values.writeTo(encoded);
+            values.reset();
+            previousMillis = 0;
+            return encoded.toByteArray();
+        }
+    }
+
+    private static Object[] decode(ColumnType type, byte[] raw, int rows) throws IOException {
+        int[] position = { 0 };
+        Object[] decoded = new Object[rows];
+        switch (type) {
+            case STRING -> {
+                for (int row = 0; row < rows; row++) {
+                    int length = (int) readVarint(raw, position);
+                    if (length > 0) {
+                        decoded[row] = new String(raw, position[0], length - 1, StandardCharsets.UTF_8);
+                        position[0] += length - 1;
+                    }
+                }
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[(int) readVarint(raw, position) + 1];
+                for (int code = 1; code < dictionary.length; code++) {
+                    int length = (int) readVarint(raw, position);
+                    dictionary[code] = new String(raw, position[0], length, StandardCharsets.UTF_8);
+                    position[0] += length;
+                }
+                for (int row = 0; row < rows; row++) {
+                    decoded[row] = dictionary[(int) readVarint(raw, position)];
+                }
+            }
+            case TIMESTAMP -> {
+                long millis = 0;
+                for (int row = 0; row < rows; row++) {
+                    long encoded = readVarint(raw, position);
+                    if (encoded > 0) {
+                        long zigzag = encoded - 1;
+                        millis += (zigzag >>> 1) ^ -(zigzag & 1);
+                        decoded[row] = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+                    }
+                }
+            }
+        }
+        return decoded;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] raw, int[] position) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= raw.length) {
+                throw new EOFException("Truncated varint");
+            }
+            byte b = raw[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.util;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 
@@ -30,6 +32,27 @@ public class DateUtils {
         }
     }
 
+    /**
+     * Converts a temporal property read from Neo4j. Timestamps are stored with
+     * datetime() and come back zoned; ISO strings written before the temporal
+     * migration are still accepted.
+     */
+    public static LocalDateTime toLocalDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof ZonedDateTime zoned) {
+            return zoned.toLocalDateTime();
+        }
+        if (value instanceof OffsetDateTime offset) {
+            return offset.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime local) {
+            return local;
+        }
+        return LocalDateTime.parse(value.toString());
+    }
+
     public static long getMinutesBetween(LocalDateTime start, LocalDateTime end) {
         return ChronoUnit.MINUTES.between(start, end);
     }
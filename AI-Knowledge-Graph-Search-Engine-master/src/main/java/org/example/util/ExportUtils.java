@@ -1,18 +1,126 @@
 package org.example.util;
 
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 public class ExportUtils {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    public static final String COLUMNAR_EXTENSION = ".tcol";
+
     public static void exportToCSV(List<String[]> data, String filename) throws IOException {
-        try (FileWriter writer = new FileWriter(filename)) {
+        try (RowWriter writer = openRowWriter(filename, null, null)) {
             for (String[] row : data) {
-                writer.append(String.join(",", row));
-                writer.append("\n");
+                writer.writeRow(row);
+            }
+        }
+    }
+
+    /**
+     * Opens a streaming row writer over a buffered FileChannel. The format
+     * follows the file name: .jsonl or .ndjson writes one JSON object per row
+     * keyed by jsonKeys, anything else writes CSV with the header row (when
+     * not null). A trailing .gz compresses the output.
+     */
+    public static RowWriter openRowWriter(String filename, String[] header, String[] jsonKeys) throws IOException {
+        String name = filename.toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        boolean json = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        if (json && jsonKeys == null) {
+            throw new IllegalArgumentException("JSON Lines export needs field names");
+        }
+
+        FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), EXPORT_BUFFER_SIZE);
+        if (gzip) {
+            out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+        }
+        RowWriter writer = new RowWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), json ? jsonKeys : null);
+        if (!json && header != null) {
+            writer.writeLine(generateCSVRow(header));
+        }
+        return writer;
+    }
+
+    public static boolean isColumnarFile(String filename) {
+        return filename.toLowerCase(Locale.ROOT).endsWith(COLUMNAR_EXTENSION);
+    }
+
+    // Binary column-oriented export, see ColumnarFile for the encoding
+    public static ColumnarFile.Writer openColumnarWriter(String filename, String[] columns,
+            ColumnarFile.ColumnType[] types) throws IOException {
+        return ColumnarFile.create(Path.of(filename), columns, types);
+    }
+
+    public static ColumnarFile.Reader openColumnarReader(String filename) throws IOException {
+        return ColumnarFile.open(Path.of(filename));
+    }
+
+    // Writes rows one at a time, nothing is held beyond the output buffers
+    public static class RowWriter implements Closeable {
+        private final Writer writer;
+        private final String[] jsonKeys;
+        private final StringBuilder line = new StringBuilder(256);
+        private long rowsWritten;
+
+        private RowWriter(Writer writer, String[] jsonKeys) {
+            this.writer = writer;
+            this.jsonKeys = jsonKeys;
+        }
+
+        public void writeRow(String... values) throws IOException {
+            writeLine(jsonKeys == null ? generateCSVRow(values) : generateJSONLine(jsonKeys, values));
+            rowsWritten++;
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+
+        private void writeLine(String text) throws IOException {
+            writer.write(text);
+            writer.write('\n');
+        }
+
+        private String generateJSONLine(String[] keys, String[] values) {
+            line.setLength(0);
+            line.append('{');
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0)
+                    line.append(',');
+                appendJSONString(line, keys[i]);
+                line.append(':');
+                String value = i < values.length ? values[i] : null;
+                if (value == null) {
+                    line.append("null");
+                } else {
+                    appendJSONString(line, value);
+                }
             }
+            return line.append('}').toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
         }
     }
 
@@ -26,15 +134,37 @@ public class ExportUtils {
         return row.toString();
     }
 
-    private static String escapeCSV(String value) {
+    public static String escapeCSV(String value) {
         if (value == null)
             return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
             return "\"" + value.replace("\"", "\"\"") + "\"";
         }
         return value;
     }
 
+    private static void appendJSONString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
     public static String generateFilename(String prefix, String extension) {
         String timestamp = LocalDateTime.now().toString().replaceAll("[:\\-.]", "");
         return prefix + "_" + timestamp + "." + extension;
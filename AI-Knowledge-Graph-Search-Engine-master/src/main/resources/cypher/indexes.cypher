@@ -5,3 +5,10 @@ CREATE INDEX category_id_index FOR (c:Category) ON (c.id);
 CREATE INDEX team_id_index FOR (t:Team) ON (t.id);
 CREATE INDEX kb_id_index FOR (k:KnowledgeBaseArticle) ON (k.id);
 CREATE INDEX sla_id_index FOR (s:SLA) ON (s.id);
+CREATE FULLTEXT INDEX ticket_fulltext IF NOT EXISTS FOR (t:Ticket) ON EACH [t.title, t.description];
+CREATE FULLTEXT INDEX kb_fulltext IF NOT EXISTS FOR (k:KnowledgeBase) ON EACH [k.title, k.content];
+CREATE INDEX ticket_status_index IF NOT EXISTS FOR (t:Ticket) ON (t.status);
+CREATE INDEX ticket_priority_index IF NOT EXISTS FOR (t:Ticket) ON (t.priority);
+CREATE INDEX ticket_assigned_to_index IF NOT EXISTS FOR (t:Ticket) ON (t.assignedTo);
+CREATE INDEX ticket_category_index IF NOT EXISTS FOR (t:Ticket) ON (t.category);
+CREATE INDEX ticket_created_at_index IF NOT EXISTS FOR (t:Ticket) ON (t.createdAt);
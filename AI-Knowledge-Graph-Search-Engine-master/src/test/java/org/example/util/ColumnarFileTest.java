@@ -0,0 +1,123 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ColumnarFileTest {
+
+    private static final String[] NAMES = { "id", "status", "createdAt" };
+    private static final ColumnarFile.ColumnType[] TYPES = {
+            ColumnarFile.ColumnType.STRING, ColumnarFile.ColumnType.DICTIONARY, ColumnarFile.ColumnType.TIMESTAMP };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsNullsInEveryColumnType() throws IOException {
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 250_000_000);
+        List<Object[]> rows = List.of(
+                new Object[] { null, null, null },
+                new Object[] { "TKT-1", "OPEN", time },
+                new Object[] { "", null, time },
+                new Object[] { null, "OPEN", null },
+                new Object[] { "TKT-ü", "", time.plusDays(1) });
+
+        assertSameRows(rows, readBack(write(rows)));
+    }
+
+    @Test
+    void keepsHeader() throws IOException {
+        Path file = write(List.of());
+        try (ColumnarFile.Reader reader = ColumnarFile.open(file)) {
+            assertArrayEquals(NAMES, reader.getColumnNames());
+            assertArrayEquals(TYPES, reader.getColumnTypes());
+            assertNull(reader.readRow());
+        }
+    }
+
+    @Test
+    void decodesNegativeTimestampDeltas() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = List.of(
+                new Object[] { "a", "OPEN", start },
+                new Object[] { "b", "OPEN", start.minusNanos(1_000_000) },
+                new Object[] { "c", "OPEN", start.minusYears(30) },
+                new Object[] { "d", "OPEN", LocalDateTime.of(1960, 6, 1, 8, 0) },
+                new Object[] { "e", "OPEN", null },
+                new Object[] { "f", "OPEN", start.plusYears(5) },
+                new Object[] { "g", "OPEN", LocalDateTime.of(1960, 6, 1, 7, 59, 59) });
+
+        assertSameRows(rows, readBack(write(rows)));
+    }
+
+    @Test
+    void rebuildsDictionaryInEachRowGroup() throws IOException {
+        // More distinct values than a one-byte code holds, with some only in the later groups
+        int count = ColumnarFile.ROW_GROUP_SIZE * 2 + 17;
+        List<Object[]> rows = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            String status = i < ColumnarFile.ROW_GROUP_SIZE ? "S" + (i % 300) : "T" + (i % 1000);
+            rows.add(new Object[] { "TKT-" + i, i % 7 == 0 ? null : status, start.plusMinutes(i % 50 - 25) });
+        }
+
+        assertSameRows(rows, readBack(write(rows)));
+    }
+
+    @Test
+    void readsRowsAcrossGroupBoundaries() throws IOException {
+        for (int count : new int[] { ColumnarFile.ROW_GROUP_SIZE - 1, ColumnarFile.ROW_GROUP_SIZE,
+                ColumnarFile.ROW_GROUP_SIZE + 1, ColumnarFile.ROW_GROUP_SIZE * 3 }) {
+            List<Object[]> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(new Object[] { String.valueOf(i), i % 2 == 0 ? "OPEN" : "CLOSED",
+                        LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i) });
+            }
+            assertSameRows(rows, readBack(write(rows)), count + " rows");
+        }
+    }
+
+    private Path write(List<Object[]> rows) throws IOException {
+        Path file = dir.resolve("tickets.tcol");
+        try (ColumnarFile.Writer writer = ColumnarFile.create(file, NAMES, TYPES)) {
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+            assertEquals(rows.size(), writer.getRowsWritten());
+        }
+        return file;
+    }
+
+    private static List<Object[]> readBack(Path file) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        try (ColumnarFile.Reader reader = ColumnarFile.open(file)) {
+            Object[] row;
+            while ((row = reader.readRow()) != null) {
+                rows.add(row);
+            }
+            assertNull(reader.readRow());
+        }
+        return rows;
+    }
+
+    private static void assertSameRows(List<Object[]> expected, List<Object[]> actual) {
+        assertSameRows(expected, actual, "");
+    }
+
+    private static void assertSameRows(List<Object[]> expected, List<Object[]> actual, String message) {
+        assertEquals(expected.size(), actual.size(), message + " row count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), message + " row " + i);
+        }
+    }
+}